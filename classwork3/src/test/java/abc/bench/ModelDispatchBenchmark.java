@@ -0,0 +1,97 @@
+package abc.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nz.ac.waikato.modeljunit.Model;
+
+import abc.runner.DirectDispatch;
+import abc.runner.ModelGraph;
+import abc.runner.TransitionTable;
+import abc.tests.AbcNewsModelTest;
+
+// One random step of the abstract model with testing off: check every guard, pick an enabled
+// action and take it. Compares ModelJUnit's reflective calls with lambdas and a flat table.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelDispatchBenchmark {
+
+    @State(Scope.Thread)
+    public static class Walk {
+        Model model;
+        AbcNewsModelTest fsm;
+        DirectDispatch dispatch;
+        TransitionTable table;
+        int tableState;
+        Random random;
+        int[] enabled;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            model = new Model(AbcNewsModelTest.offline());
+            model.setTesting(false);
+            model.doReset("bench");
+            fsm = AbcNewsModelTest.offline();
+            fsm.reset(false);
+            dispatch = DirectDispatch.of(AbcNewsModelTest.class);
+            table = new TransitionTable(ModelGraph.explore(AbcNewsModelTest.offline()), dispatch);
+            tableState = table.getInitialState();
+            random = new Random(42);
+            enabled = new int[dispatch.getNumActions()];
+        }
+    }
+
+    @Benchmark
+    public Object reflective(Walk walk) {
+        Model model = walk.model;
+        int count = 0;
+        for (int action = 0; action < model.getNumActions(); action++) {
+            if (model.isEnabled(action)) {
+                walk.enabled[count++] = action;
+            }
+        }
+        model.doAction(walk.enabled[walk.random.nextInt(count)]);
+        return model.getCurrentState();
+    }
+
+    @Benchmark
+    public Object direct(Walk walk) {
+        DirectDispatch dispatch = walk.dispatch;
+        int count = 0;
+        for (int action = 0; action < dispatch.getNumActions(); action++) {
+            if (dispatch.isEnabled(walk.fsm, action)) {
+                walk.enabled[count++] = action;
+            }
+        }
+        dispatch.doAction(walk.fsm, walk.enabled[walk.random.nextInt(count)]);
+        return walk.fsm.getState();
+    }
+
+    @Benchmark
+    public int table(Walk walk) {
+        TransitionTable table = walk.table;
+        int count = 0;
+        for (int action = 0; action < table.getNumActions(); action++) {
+            if (table.next(walk.tableState, action) >= 0) {
+                walk.enabled[count++] = action;
+            }
+        }
+        walk.tableState = table.next(walk.tableState, walk.enabled[walk.random.nextInt(count)]);
+        return walk.tableState;
+    }
+}
@@ -0,0 +1,213 @@
+package abc.bench;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import abc.fixture.FixtureServer;
+import abc.pageobjects.ArticlePageObject;
+import abc.pageobjects.ArticleSnapshot;
+import abc.pageobjects.HomepagePageObject;
+import abc.pageobjects.PageReadiness;
+import abc.pageobjects.SearchPageObject;
+import abc.pageobjects.SearchSnapshot;
+
+// Page object operations against the local fixture server, so the numbers only reflect
+// WebDriver round trips and in-browser work. Run with: mvn -Pbench verify
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    // A headless browser parked on one fixture page for the whole trial
+    public abstract static class BrowserState {
+        FixtureServer server;
+        WebDriver driver;
+        WebDriverWait wait;
+        PageReadiness readiness;
+
+        @Setup(Level.Trial)
+        public void launch() {
+            server = FixtureServer.start(0);
+            driver = new ChromeDriver(new ChromeOptions().addArguments("--headless=new", "--window-size=1920,1080"));
+            wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            readiness = new PageReadiness(driver, Duration.ofSeconds(10));
+            driver.get(server.getBaseUrl() + path());
+            createPageObjects();
+        }
+
+        @TearDown(Level.Trial)
+        public void quit() {
+            driver.quit();
+            server.stop();
+        }
+
+        abstract String path();
+
+        abstract void createPageObjects();
+    }
+
+    @State(Scope.Benchmark)
+    public static class OnHomepage extends BrowserState {
+        HomepagePageObject homePage;
+
+        @Override
+        void createPageObjects() {
+            homePage = new HomepagePageObject(driver);
+        }
+
+        @Override
+        String path() {
+            return "/";
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OnSearchPage extends BrowserState {
+        SearchPageObject searchPage;
+
+        @Override
+        void createPageObjects() {
+            searchPage = new SearchPageObject(driver);
+        }
+
+        @Override
+        String path() {
+            return "/search?searchtext=manslaughter";
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OnArticlePage extends BrowserState {
+        ArticlePageObject articlePage;
+
+        @Override
+        void createPageObjects() {
+            articlePage = new ArticlePageObject(driver);
+        }
+
+        @Override
+        String path() {
+            return "/article/7";
+        }
+    }
+
+    // Reading the homepage heading the model compares against
+
+    @Benchmark
+    public String homepageHeadingPerElement(OnHomepage state) {
+        return state.homePage.getArticleHeadingIndex(7);
+    }
+
+    @Benchmark
+    public String homepageHeadingSnapshot(OnHomepage state) {
+        return state.homePage.snapshot().articleHeading(7);
+    }
+
+    // Reading search results, per element, by snapshot and with different locator strategies
+
+    @Benchmark
+    public int searchResultsCount(OnSearchPage state) {
+        return state.searchPage.getSearchResultsCount();
+    }
+
+    @Benchmark
+    public String searchHeadlineAndUrlPerElement(OnSearchPage state) {
+        return state.searchPage.getSearchResultsHeadline(1) + state.searchPage.getArticleUrl(1);
+    }
+
+    @Benchmark
+    public String searchHeadlineAndUrlSnapshot(OnSearchPage state) {
+        SearchSnapshot results = state.searchPage.snapshot();
+        return results.headline(1) + results.articleUrl(1);
+    }
+
+    @Benchmark
+    public List<WebElement> searchResultsByCss(OnSearchPage state) {
+        return state.driver.findElements(By.cssSelector(".ContentRoll__Item"));
+    }
+
+    @Benchmark
+    public List<WebElement> searchResultsByClassName(OnSearchPage state) {
+        return state.driver.findElements(By.className("ContentRoll__Item"));
+    }
+
+    @Benchmark
+    public List<WebElement> searchResultsByXPath(OnSearchPage state) {
+        return state.driver.findElements(By.xpath("//div[contains(@class, 'ContentRoll__Item')]"));
+    }
+
+    // Reading the article, per element and by snapshot
+
+    @Benchmark
+    public String articleTitlePerElement(OnArticlePage state) {
+        return state.articlePage.getArticleTitle();
+    }
+
+    @Benchmark
+    public boolean articleChecksPerElement(OnArticlePage state) {
+        return state.articlePage.isArticleContentVisible()
+                && !state.articlePage.getArticleTitle().isEmpty();
+    }
+
+    @Benchmark
+    public boolean articleChecksSnapshot(OnArticlePage state) {
+        ArticleSnapshot article = state.articlePage.snapshot();
+        return article.isContentVisible() && !article.title().isEmpty();
+    }
+
+    // Waiting on a page that is already loaded, which is the floor cost of each strategy
+
+    @Benchmark
+    public Object articleReadyPolling(OnArticlePage state) {
+        return state.wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(".vMjAx.gjbzK.tntuS.eHrJ.mTgUP")));
+    }
+
+    @Benchmark
+    public void articleReadyObserver(OnArticlePage state) {
+        state.readiness.await("ARTICLE_PAGE", false, By.cssSelector(".vMjAx.gjbzK.tntuS.eHrJ.mTgUP"));
+    }
+
+    @Benchmark
+    public boolean articleFullyLoaded(OnArticlePage state) {
+        return state.articlePage.isFullyLoaded();
+    }
+
+    // Full user operations including the page load they trigger
+
+    @Benchmark
+    public void searchFor(OnHomepage state) {
+        state.driver.get(state.server.getBaseUrl() + "/");
+        state.homePage.searchFor("manslaughter");
+        state.readiness.await("SEARCH_PAGE", false, By.cssSelector(".ContentRoll__Item"));
+    }
+
+    @Benchmark
+    public void filterByDate(OnSearchPage state) {
+        state.driver.get(state.server.getBaseUrl() + "/search?searchtext=manslaughter");
+        state.searchPage.filterByDate("Last Week");
+        state.wait.until(ExpectedConditions.urlContains("after="));
+    }
+}
@@ -0,0 +1,48 @@
+package abc.config;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import abc.fixture.FixtureServer;
+
+// Settings shared by the model and page objects, read from -D system properties
+public final class TestConfig {
+
+    private static final String LIVE_BASE_URL = "https://abcnews.go.com";
+
+    private static String baseUrl;
+    private static FixtureServer fixtureServer;
+
+    private TestConfig() {
+    }
+
+    // Site root without a trailing slash, e.g. https://abcnews.go.com
+    public static synchronized String baseUrl() {
+        if (baseUrl == null) {
+            if (Boolean.getBoolean("abc.offline")) {
+                // Serve the recorded snapshots from localhost instead of the live site
+                fixtureServer = FixtureServer.start(Integer.getInteger("abc.fixture.port", 0));
+                Runtime.getRuntime().addShutdownHook(new Thread(fixtureServer::stop));
+                baseUrl = fixtureServer.getBaseUrl();
+            } else {
+                baseUrl = stripTrailingSlash(System.getProperty("abc.baseUrl", LIVE_BASE_URL));
+            }
+        }
+        return baseUrl;
+    }
+
+    // URL the browser reports once the homepage has loaded
+    public static String homeUrl() {
+        return baseUrl() + "/";
+    }
+
+    // Search results for a query, narrowed by the date filter when after is not empty (e.g. "week")
+    public static String searchUrl(String query, String after) {
+        String url = baseUrl() + "/search?searchtext=" + URLEncoder.encode(query, StandardCharsets.UTF_8);
+        return after.isEmpty() ? url : url + "&after=" + URLEncoder.encode(after, StandardCharsets.UTF_8);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,79 @@
+package abc.driver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+// How much memory a browser session is using, so long runs can tell when to start a fresh one
+public final class BrowserMemory {
+
+    private BrowserMemory() {
+    }
+
+    // Resident memory of the session's browser process and all its children (renderers, GPU), -1 if unknown.
+    // The browser is found by the profile directory chromedriver reports, the sizes come from /proc.
+    public static long rssBytes(WebDriver driver) {
+        String profile = userDataDir(driver);
+        if (profile == null) {
+            return -1;
+        }
+        String flag = "--user-data-dir=" + profile;
+        return ProcessHandle.current().descendants()
+                .filter(process -> commandLine(process).contains(flag))
+                // The browser is the topmost process with that profile, the rest are its children
+                .filter(process -> process.parent().map(parent -> !commandLine(parent).contains(flag)).orElse(true))
+                .findFirst()
+                .map(browser -> {
+                    long total = processRss(browser.pid());
+                    for (ProcessHandle child : browser.descendants().toList()) {
+                        total += Math.max(0, processRss(child.pid()));
+                    }
+                    return total;
+                })
+                .orElse(-1L);
+    }
+
+    // Used JavaScript heap of the current page, -1 where the browser does not expose it
+    public static long jsHeapBytes(WebDriver driver) {
+        try {
+            Object used = ((JavascriptExecutor) driver).executeScript(
+                    "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : -1;");
+            return ((Number) used).longValue();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static String userDataDir(WebDriver driver) {
+        if (driver instanceof HasCapabilities capabilities
+                && capabilities.getCapabilities().getCapability("chrome") instanceof Map<?, ?> chrome) {
+            Object dir = chrome.get("userDataDir");
+            return dir == null ? null : dir.toString();
+        }
+        return null;
+    }
+
+    private static String commandLine(ProcessHandle process) {
+        return process.info().commandLine().orElse("");
+    }
+
+    private static long processRss(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process went away or no procfs
+        }
+        return -1;
+    }
+}
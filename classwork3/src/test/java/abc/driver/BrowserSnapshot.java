@@ -0,0 +1,167 @@
+package abc.driver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+// Cookies and localStorage of a browser that has already been around the site, saved as JSON so every
+// new session and reset can start as a returning visitor instead of going through first-visit overlays
+public class BrowserSnapshot {
+
+    // Fields Network.setCookies accepts out of what Network.getAllCookies returns
+    private static final List<String> COOKIE_FIELDS = List.of(
+            "name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires");
+
+    private static final Json JSON = new Json();
+
+    private final String origin; // Site the localStorage belongs to, e.g. https://abcnews.go.com
+    private final List<Map<String, Object>> cookies;
+    private final Map<String, String> localStorage;
+
+    private BrowserSnapshot(String origin, List<Map<String, Object>> cookies, Map<String, String> localStorage) {
+        this.origin = origin;
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+    }
+
+    // Visit the given pages in order and keep the state the site leaves behind
+    public static BrowserSnapshot capture(WebDriver driver, List<String> urls) {
+        urls.forEach(driver::get);
+        URI home = URI.create(urls.get(0));
+        String origin = home.getScheme() + "://" + home.getAuthority();
+        driver.get(origin + "/");
+
+        List<Map<String, Object>> cookies;
+        if (driver instanceof HasCdp cdp) {
+            // Every domain, third party consent cookies included
+            cookies = castList(cdp.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies"));
+        } else {
+            cookies = driver.manage().getCookies().stream().map(BrowserSnapshot::fromSelenium).toList();
+        }
+        Map<?, ?> storage = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(
+                "var items = {}; for (var i = 0; i < localStorage.length; i++) {"
+                + " var key = localStorage.key(i); items[key] = localStorage.getItem(key); } return items;");
+        Map<String, String> localStorage = new LinkedHashMap<>();
+        storage.forEach((key, value) -> localStorage.put(String.valueOf(key), String.valueOf(value)));
+        return new BrowserSnapshot(origin, cookies, localStorage);
+    }
+
+    public static BrowserSnapshot load(Path file) {
+        try {
+            Map<String, Object> json = JSON.toType(Files.readString(file), Json.MAP_TYPE);
+            Map<String, String> localStorage = new LinkedHashMap<>();
+            ((Map<?, ?>) json.get("localStorage")).forEach((key, value) ->
+                    localStorage.put(String.valueOf(key), String.valueOf(value)));
+            return new BrowserSnapshot(String.valueOf(json.get("origin")), castList(json.get("cookies")), localStorage);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read browser snapshot " + file, e);
+        }
+    }
+
+    public void save(Path file) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("origin", origin);
+        json.put("cookies", cookies);
+        json.put("localStorage", localStorage);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, JSON.toJson(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write browser snapshot " + file, e);
+        }
+    }
+
+    public int getCookieCount() {
+        return cookies.size();
+    }
+
+    public int getStorageCount() {
+        return localStorage.size();
+    }
+
+    // Put the snapshot into a freshly cleaned session and open the given page as a returning visitor.
+    // With Chrome this costs no extra navigation: cookies go in over CDP and storage is seeded as the
+    // page's document starts. The seeding script is taken out again right after, so storage is seeded
+    // once per restore and keys the site removes later in the walk stay removed.
+    public void restore(WebDriver driver, String url) {
+        if (driver instanceof HasCdp cdp) {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies.stream()
+                    .map(BrowserSnapshot::cookieParam).toList()));
+            if (localStorage.isEmpty()) {
+                driver.get(url);
+                return;
+            }
+            Object identifier = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", seedScript())).get("identifier");
+            try {
+                driver.get(url);
+            } finally {
+                cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+            }
+            return;
+        }
+
+        // Other browsers only take cookies and storage for the page they are on
+        driver.get(origin + "/");
+        for (Map<String, Object> cookie : cookies) {
+            if (origin.contains(String.valueOf(cookie.get("domain")).replaceFirst("^\\.", ""))) {
+                driver.manage().addCookie(new Cookie(String.valueOf(cookie.get("name")),
+                        String.valueOf(cookie.get("value")), String.valueOf(cookie.get("path"))));
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(seedScript());
+        driver.get(url);
+    }
+
+    // Fills in stored items the page does not have yet, leaving anything the walk itself set alone
+    private String seedScript() {
+        return "if (location.origin === " + JSON.toJson(origin) + ") { try {"
+                + " var items = " + JSON.toJson(localStorage) + ";"
+                + " Object.keys(items).forEach(function (key) {"
+                + " if (localStorage.getItem(key) === null) { localStorage.setItem(key, items[key]); } });"
+                + " } catch (e) {} }";
+    }
+
+    private static Map<String, Object> cookieParam(Map<String, Object> cookie) {
+        Map<String, Object> param = new LinkedHashMap<>();
+        for (String field : COOKIE_FIELDS) {
+            Object value = cookie.get(field);
+            if (value != null && !(field.equals("expires") && ((Number) value).doubleValue() < 0)) {
+                param.put(field, value); // Session cookies have no expiry
+            }
+        }
+        return param;
+    }
+
+    private static Map<String, Object> fromSelenium(Cookie cookie) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            map.put("expires", cookie.getExpiry().getTime() / 1000);
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> castList(Object list) {
+        return (List<Map<String, Object>>) list;
+    }
+}
@@ -0,0 +1,49 @@
+package abc.driver;
+
+import java.util.Map;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.logging.LogType;
+
+import abc.fixture.ResponseCache;
+
+// Builds the Chrome sessions handed out by the DriverPool
+public final class ChromeLauncher {
+
+    private ChromeLauncher() {
+    }
+
+    // -Dabc.fast=true runs headless, stops waiting at DOMContentLoaded and blocks heavy requests
+    public static boolean isFastMode() {
+        return Boolean.getBoolean("abc.fast");
+    }
+
+    public static WebDriver launch() {
+        ChromeOptions options = new ChromeOptions();
+        // Keep the console so failure artifacts can include it
+        options.setCapability("goog:loggingPrefs", Map.of(LogType.BROWSER, "ALL"));
+        if (isFastMode()) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+
+        WebDriver driver = new ChromeDriver(options);
+        if (!isFastMode()) {
+            driver.manage().window().maximize();
+        }
+
+        // Blocked requests fail inside the browser, whatever survives may be answered by the cache
+        boolean cached = ResponseCache.shared().isEnabled();
+        if (isFastMode()) {
+            RequestBlocker.shared().install(driver, cached);
+        }
+        if (cached) {
+            new NetworkInterceptor(driver, ResponseCache.shared());
+        }
+        return driver;
+    }
+}
@@ -0,0 +1,282 @@
+package abc.driver;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import abc.config.TestConfig;
+
+public class DriverPool {
+
+    private static DriverPool shared; // Pool shared by every model instance in this JVM
+
+    private final Supplier<WebDriver> launcher; // Creates a brand new browser session
+    private final String homeUrl; // Page every leased session starts on
+    private final int maxUses; // Number of leases before a session is recycled
+    private volatile BrowserSnapshot warmState; // Restored into every cleaned session, null for first visits
+
+    private final Deque<PooledSession> idle = new ArrayDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new IdentityHashMap<>();
+
+    // Counters so we can see how often a reset was served warm
+    private final AtomicInteger poolHits = new AtomicInteger();
+    private final AtomicInteger coldLaunches = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private final AtomicLong warmResetNanos = new AtomicLong();
+    private final AtomicLong coldLaunchNanos = new AtomicLong();
+
+    // Storage a session can leave behind, cookies are cleared separately for every domain at once
+    private static final String STORAGE_TYPES =
+            "local_storage,indexeddb,websql,file_systems,cache_storage,service_workers,shared_storage";
+
+    // A browser session together with how many times it has been handed out
+    private static class PooledSession {
+        final WebDriver driver;
+        final Set<String> origins = new HashSet<>(); // Every origin seen in its frames, cleared on each clean
+        int uses;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    public DriverPool(Supplier<WebDriver> launcher, String homeUrl, int maxUses) {
+        this.launcher = launcher;
+        this.homeUrl = homeUrl;
+        this.maxUses = maxUses;
+    }
+
+    // Return the JVM wide pool, pre-launching its sessions on first use
+    public static synchronized DriverPool shared() {
+        if (shared == null) {
+            shared = new DriverPool(ChromeLauncher::launch,
+                    TestConfig.baseUrl(),
+                    Integer.getInteger("abc.pool.maxUses", 50));
+            // -Dabc.warm names a snapshot saved by testWarmStart, sessions start as returning visitors
+            String warm = System.getProperty("abc.warm");
+            if (warm != null && Files.exists(Paths.get(warm))) {
+                shared.setWarmState(BrowserSnapshot.load(Paths.get(warm)));
+            }
+            shared.warmUp(Integer.getInteger("abc.pool.size", 1));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::shutdown));
+        }
+        return shared;
+    }
+
+    public BrowserSnapshot getWarmState() {
+        return warmState;
+    }
+
+    // Applies from the next acquire on, null goes back to first visit sessions
+    public void setWarmState(BrowserSnapshot warmState) {
+        this.warmState = warmState;
+    }
+
+    // Top the idle sessions up to the given number, launching the missing ones in parallel
+    public void warmUp(int sessions) {
+        int missing;
+        synchronized (this) {
+            missing = sessions - idle.size();
+        }
+        List<PooledSession> launched = IntStream.range(0, Math.max(missing, 0))
+                .parallel()
+                .mapToObj(i -> launch())
+                .toList();
+        synchronized (this) {
+            idle.addAll(launched);
+        }
+    }
+
+    // Lease a clean session that is already sitting on the homepage
+    public WebDriver acquire() {
+        PooledSession session;
+        synchronized (this) {
+            session = idle.pollFirst();
+        }
+
+        long start = System.nanoTime();
+        if (session != null && session.uses < maxUses && clean(session)) {
+            poolHits.incrementAndGet();
+            warmResetNanos.addAndGet(System.nanoTime() - start);
+        } else {
+            if (session != null) {
+                // Worn out or unhealthy, throw it away and start over
+                quietlyQuit(session.driver);
+                recycled.incrementAndGet();
+            }
+            session = launch();
+            if (!clean(session)) {
+                quietlyQuit(session.driver);
+                throw new IllegalStateException("Freshly launched browser failed its health check");
+            }
+        }
+
+        session.uses++;
+        synchronized (this) {
+            leased.put(session.driver, session);
+        }
+        return session.driver;
+    }
+
+    // Hand a session back so the next reset can reuse it
+    public void release(WebDriver driver) {
+        PooledSession session;
+        synchronized (this) {
+            session = leased.remove(driver);
+        }
+        if (session == null) {
+            // Not one of ours, nothing to keep warm
+            quietlyQuit(driver);
+            return;
+        }
+        if (session.uses >= maxUses) {
+            quietlyQuit(driver);
+            recycled.incrementAndGet();
+            return;
+        }
+        collectOrigins(session); // The page the lease ended on, before anything navigates away from it
+        synchronized (this) {
+            idle.addFirst(session);
+        }
+    }
+
+    // Throw a leased session away instead of returning it, e.g. once it has grown too big
+    public void retire(WebDriver driver) {
+        synchronized (this) {
+            leased.remove(driver);
+        }
+        quietlyQuit(driver);
+        recycled.incrementAndGet();
+    }
+
+    // Quit every session the pool knows about
+    public void shutdown() {
+        List<WebDriver> all = new ArrayList<>();
+        synchronized (this) {
+            idle.forEach(session -> all.add(session.driver));
+            all.addAll(leased.keySet());
+            idle.clear();
+            leased.clear();
+        }
+        all.forEach(DriverPool::quietlyQuit);
+    }
+
+    public int getPoolHits() {
+        return poolHits.get();
+    }
+
+    public int getColdLaunches() {
+        return coldLaunches.get();
+    }
+
+    public int getRecycled() {
+        return recycled.get();
+    }
+
+    public void printStatistics() {
+        int hits = poolHits.get();
+        int cold = coldLaunches.get();
+        System.out.printf("Driver pool: %d warm resets (avg %d ms), %d cold launches (avg %d ms), %d recycled%n",
+                hits, hits == 0 ? 0 : warmResetNanos.get() / hits / 1_000_000,
+                cold, cold == 0 ? 0 : coldLaunchNanos.get() / cold / 1_000_000,
+                recycled.get());
+    }
+
+    private PooledSession launch() {
+        long start = System.nanoTime();
+        WebDriver driver = launcher.get();
+        coldLaunches.incrementAndGet();
+        coldLaunchNanos.addAndGet(System.nanoTime() - start);
+        return new PooledSession(driver);
+    }
+
+    // Wipe cookies and storage, put the warm state back if there is one, then go home. Without a warm
+    // state the HTTP cache goes too, so a first visit really is one. Returns false if the session is unusable.
+    private boolean clean(PooledSession session) {
+        WebDriver driver = session.driver;
+        BrowserSnapshot warm = warmState;
+        try {
+            if (driver instanceof HasCdp cdp) {
+                // Clears cookies for every domain, not just the current page
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+
+                // Storage is per origin, so clear it for every origin the session has had a frame on
+                collectOrigins(session);
+                for (String origin : session.origins) {
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                            Map.of("origin", origin, "storageTypes", STORAGE_TYPES));
+                }
+                if (warm == null) {
+                    cdp.executeCdpCommand("Network.clearBrowserCache", Map.of());
+                }
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            // Session storage belongs to the tab rather than the origin's storage, clear what the page sees
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (warm != null) {
+                warm.restore(driver, homeUrl);
+            } else {
+                driver.get(homeUrl);
+            }
+            return driver.getWindowHandle() != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Add the origins of the current page and all its frames, third party iframes included
+    private void collectOrigins(PooledSession session) {
+        session.origins.add(originOf(homeUrl));
+        if (!(session.driver instanceof HasCdp cdp)) {
+            return;
+        }
+        try {
+            addOrigins(cdp.executeCdpCommand("Page.getFrameTree", Map.of()).get("frameTree"), session.origins);
+        } catch (Exception e) {
+            // Session is gone, the health check in clean() deals with it
+        }
+    }
+
+    private static void addOrigins(Object frameTree, Set<String> origins) {
+        Map<?, ?> tree = (Map<?, ?>) frameTree;
+        Object origin = ((Map<?, ?>) tree.get("frame")).get("securityOrigin");
+        if (origin instanceof String text && text.startsWith("http")) {
+            origins.add(text);
+        }
+        Object children = tree.get("childFrames");
+        if (children instanceof List<?> frames) {
+            frames.forEach(child -> addOrigins(child, origins));
+        }
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // Session is already gone
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package abc.driver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+// Fails requests for ads, trackers and heavy media inside the browser so they never hit the network.
+// Only the requests to block are paused, everything else goes through without a round trip to the JVM.
+public class RequestBlocker {
+
+    // Ad and analytics hosts abcnews pages pull in, none of them matter to our assertions
+    private static final String DEFAULT_PATTERNS = String.join(",",
+            "doubleclick.net", "googlesyndication.com", "googletagmanager.com", "google-analytics.com",
+            "googletagservices.com", "amazon-adsystem.com", "scorecardresearch.com", "chartbeat",
+            "taboola.com", "outbrain.com", "adsafeprotected.com", "moatads.com", "krxd.net",
+            "omtrdc.net", "facebook.net", "demdex.net", "bounceexchange.com", "newrelic.com");
+    private static final String DEFAULT_TYPES = "image,media,font";
+
+    // Network.ResourceType as DevTools spells it, the properties take them in any case
+    private static final List<String> DEVTOOLS_TYPES = List.of("Document", "Stylesheet", "Image", "Media", "Font",
+            "Script", "TextTrack", "XHR", "Fetch", "Prefetch", "EventSource", "WebSocket", "Manifest",
+            "SignedExchange", "Ping", "CSPViolationReport", "Preflight", "Other");
+
+    private static RequestBlocker shared;
+
+    private final List<String> urlPatterns; // Substrings of URLs to block
+    private final Set<String> resourceTypes; // DevTools resource types to block, e.g. image, media, font
+
+    private final AtomicInteger blocked = new AtomicInteger();
+
+    public RequestBlocker(List<String> urlPatterns, Set<String> resourceTypes) {
+        this.urlPatterns = urlPatterns;
+        this.resourceTypes = resourceTypes;
+    }
+
+    // Blocker configured by -Dabc.block.patterns and -Dabc.block.types, both comma separated
+    public static synchronized RequestBlocker shared() {
+        if (shared == null) {
+            shared = new RequestBlocker(
+                    split(System.getProperty("abc.block.patterns", DEFAULT_PATTERNS)).toList(),
+                    split(System.getProperty("abc.block.types", DEFAULT_TYPES)).collect(Collectors.toSet()));
+        }
+        return shared;
+    }
+
+    // Start blocking in the given session. Chrome matches the patterns itself and only pauses the
+    // requests to block, at the request stage, with the resource type it actually assigned them.
+    // When something else already intercepts every request through Fetch (the response cache), only
+    // the URL patterns are blocked, with Network.setBlockedURLs, since Fetch has a single owner per session.
+    public void install(WebDriver driver, boolean fetchTaken) {
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        if (fetchTaken) {
+            devTools.addListener(new Event<>("Network.loadingFailed", RequestBlocker::params), failed -> {
+                if ("inspector".equals(failed.get("blockedReason"))) {
+                    blocked.incrementAndGet();
+                }
+            });
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls",
+                    urlPatterns.stream().map(pattern -> "*" + pattern + "*").toList())));
+            return;
+        }
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        urlPatterns.forEach(pattern -> patterns.add(Map.of("urlPattern", "*" + pattern + "*", "requestStage", "Request")));
+        resourceTypes.forEach(type -> patterns.add(Map.of("urlPattern", "*", "resourceType", devToolsType(type),
+                "requestStage", "Request")));
+        devTools.addListener(new Event<>("Fetch.requestPaused", RequestBlocker::params), paused -> {
+            blocked.incrementAndGet();
+            devTools.send(new Command<>("Fetch.failRequest",
+                    Map.of("requestId", paused.get("requestId"), "errorReason", "BlockedByClient")));
+        });
+        devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+    }
+
+    public int getBlocked() {
+        return blocked.get();
+    }
+
+    private static Map<String, Object> params(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+
+    private static String devToolsType(String type) {
+        return DEVTOOLS_TYPES.stream()
+                .filter(name -> name.equalsIgnoreCase(type))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown resource type in -Dabc.block.types: " + type));
+    }
+
+    private static Stream<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .map(part -> part.toLowerCase(Locale.ROOT))
+                .filter(part -> !part.isEmpty());
+    }
+}
@@ -0,0 +1,193 @@
+package abc.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Local stand-in for abcnews.go.com serving recorded page snapshots from src/test/resources/fixtures/abcnews
+public class FixtureServer {
+
+    private static final String FIXTURES = "/fixtures/abcnews/";
+
+    static {
+        // Without TCP_NODELAY every keep-alive response sits behind Nagle and delayed ACKs for ~40 ms
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final List<String> headlines; // Article titles, the index doubles as the article id
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    private FixtureServer(HttpServer server) {
+        this.server = server;
+        this.headlines = readResource("headlines.txt").lines()
+                .filter(line -> !line.isBlank())
+                .toList();
+
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    // Start a server on the given port, 0 picks any free port
+    public static FixtureServer start(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+            FixtureServer fixture = new FixtureServer(server);
+            server.start();
+            return fixture;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start fixture server", e);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public List<String> getHeadlines() {
+        return headlines;
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        String body;
+        if (path.equals("/")) {
+            body = renderHomepage();
+        } else if (path.equals("/search")) {
+            body = renderSearch(query.getOrDefault("searchtext", ""), query.getOrDefault("after", ""));
+        } else if (path.startsWith("/article/")) {
+            body = renderArticle(path.substring("/article/".length()));
+        } else {
+            body = null;
+        }
+
+        if (body == null) {
+            send(exchange, 404, "<html><body>Not found</body></html>");
+        } else {
+            send(exchange, 200, body);
+        }
+    }
+
+    private String renderHomepage() {
+        String articles = IntStream.range(0, headlines.size())
+                .mapToObj(i -> template("home-article.html")
+                        .replace("{{index}}", String.valueOf(i))
+                        .replace("{{title}}", headlines.get(i)))
+                .collect(Collectors.joining());
+        return template("home.html")
+                .replace("{{header}}", template("header.html"))
+                .replace("{{mainTitle}}", headlines.get(0))
+                .replace("{{articles}}", articles);
+    }
+
+    private String renderSearch(String searchText, String after) {
+        String term = searchText.toLowerCase();
+        List<Integer> matches = IntStream.range(0, headlines.size())
+                .filter(i -> headlines.get(i).toLowerCase().contains(term))
+                .boxed()
+                .toList();
+
+        // A date filter narrows the results, the narrower the window the fewer stories
+        int limit = switch (after) {
+            case "day" -> 1;
+            case "week" -> 3;
+            default -> matches.size();
+        };
+        matches = matches.subList(0, Math.min(limit, matches.size()));
+
+        String results = matches.isEmpty()
+                ? template("search-no-results.html")
+                : matches.stream()
+                        .map(i -> template("search-result.html")
+                                .replace("{{index}}", String.valueOf(i))
+                                .replace("{{title}}", headlines.get(i)))
+                        .collect(Collectors.joining());
+
+        return template("search.html")
+                .replace("{{header}}", template("header.html"))
+                .replace("{{results}}", results)
+                .replace("{{total}}", String.valueOf(matches.size()))
+                .replace("{{query}}", escape(searchText));
+    }
+
+    private String renderArticle(String id) {
+        int index;
+        try {
+            index = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (index < 0 || index >= headlines.size()) {
+            return null;
+        }
+        return template("article.html")
+                .replace("{{header}}", template("header.html"))
+                .replace("{{title}}", headlines.get(index));
+    }
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, FixtureServer::readResource);
+    }
+
+    private static String readResource(String name) {
+        try (InputStream in = FixtureServer.class.getResourceAsStream(FIXTURES + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + FIXTURES + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + name, e);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
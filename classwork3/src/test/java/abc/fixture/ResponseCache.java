@@ -0,0 +1,206 @@
+package abc.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+// Records every GET the browser makes into an on-disk store and serves them back on later runs.
+// Bodies live in objects/<sha256 of body> so identical responses are only stored once,
+// each request has a small entries/<sha256 of url>.properties pointing at its body.
+public class ResponseCache implements Filter {
+
+    public enum Mode {
+        OFF,    // Always go to the network
+        RECORD, // Go to the network and store what comes back
+        REPLAY  // Answer from the store, only misses go to the network
+    }
+
+    // The browser has already decoded these, replaying them would corrupt the body
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-encoding", "transfer-encoding");
+
+    private static ResponseCache shared;
+
+    private final Mode mode;
+    private final Path objects;
+    private final Path entries;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public ResponseCache(Mode mode, Path directory) {
+        this.mode = mode;
+        this.objects = directory.resolve("objects");
+        this.entries = directory.resolve("entries");
+        try {
+            Files.createDirectories(objects);
+            Files.createDirectories(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create response cache in " + directory, e);
+        }
+    }
+
+    // Cache configured by -Dabc.cache=record|replay and -Dabc.cache.dir
+    public static synchronized ResponseCache shared() {
+        if (shared == null) {
+            Mode mode = Mode.valueOf(System.getProperty("abc.cache", "off").toUpperCase(Locale.ROOT));
+            shared = new ResponseCache(mode, Paths.get(System.getProperty("abc.cache.dir", "target/http-cache")));
+        }
+        return shared;
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            if (mode == Mode.OFF || request.getMethod() != HttpMethod.GET) {
+                return next.execute(request);
+            }
+
+            if (mode == Mode.REPLAY) {
+                HttpResponse cached = lookup(request);
+                if (cached != null) {
+                    return cached;
+                }
+                misses.incrementAndGet();
+                return next.execute(request);
+            }
+
+            HttpResponse response = next.execute(request);
+            return store(request, response);
+        };
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public void printStatistics() {
+        if (mode == Mode.RECORD) {
+            System.out.println("Response cache: recorded " + recorded.get() + " responses");
+        } else if (mode == Mode.REPLAY) {
+            int total = hits.get() + misses.get();
+            System.out.printf("Response cache: %d hits, %d misses (%.1f%% hit ratio), %d bytes served from disk%n",
+                    hits.get(), misses.get(), total == 0 ? 0.0 : 100.0 * hits.get() / total,
+                    bytesSaved.get());
+        }
+    }
+
+    private HttpResponse lookup(HttpRequest request) {
+        Path entry = entries.resolve(sha256(request.getUri().getBytes(StandardCharsets.UTF_8)) + ".properties");
+        if (!Files.exists(entry)) {
+            return null;
+        }
+        try {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(entry)) {
+                properties.load(in);
+            }
+            byte[] body = Files.readAllBytes(objects.resolve(properties.getProperty("body")));
+
+            HttpResponse response = new HttpResponse();
+            response.setStatus(Integer.parseInt(properties.getProperty("status")));
+            for (int i = 0; properties.containsKey("header." + i + ".name"); i++) {
+                response.addHeader(properties.getProperty("header." + i + ".name"),
+                        properties.getProperty("header." + i + ".value"));
+            }
+            response.setContent(Contents.bytes(body));
+
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(body.length);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            // A half written entry is treated like a miss
+            return null;
+        }
+    }
+
+    private HttpResponse store(HttpRequest request, HttpResponse response) {
+        // Reading the body consumes it, so put the bytes back before the browser sees the response
+        byte[] body = Contents.bytes(response.getContent());
+        response.setContent(Contents.bytes(body));
+
+        try {
+            String bodyHash = sha256(body);
+            Path object = objects.resolve(bodyHash);
+            if (!Files.exists(object)) {
+                writeAtomically(object, body);
+            }
+
+            Properties properties = new Properties();
+            properties.setProperty("url", request.getUri());
+            properties.setProperty("status", String.valueOf(response.getStatus()));
+            properties.setProperty("body", bodyHash);
+            int index = 0;
+            for (String name : response.getHeaderNames()) {
+                if (SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    continue;
+                }
+                for (String value : response.getHeaders(name)) {
+                    properties.setProperty("header." + index + ".name", name);
+                    properties.setProperty("header." + index + ".value", value);
+                    index++;
+                }
+            }
+
+            Path entry = entries.resolve(sha256(request.getUri().getBytes(StandardCharsets.UTF_8)) + ".properties");
+            Path temp = Files.createTempFile(entries, "entry", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recorded.incrementAndGet();
+        } catch (IOException e) {
+            // Recording is best effort, the page still gets its response
+            System.err.println("Failed to record " + request.getUri() + ": " + e.getMessage());
+        }
+        return response;
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "object", ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package abc.metrics;
+
+// Splits the running time of the current action into phases. The clock is per thread,
+// so parallel walks each time their own action without interfering.
+public final class ActionPhases {
+
+    public enum Phase {
+        NAVIGATION, // Driving the browser to the next page
+        WAIT,       // Waiting for that page to be ready
+        ASSERTION   // Reading the page and checking it
+    }
+
+    private static final ThreadLocal<ActionPhases> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[Phase.values().length];
+    private Phase phase = Phase.NAVIGATION;
+    private long phaseStart = System.nanoTime();
+
+    private ActionPhases() {
+    }
+
+    // Start timing a new action on this thread, in the navigation phase
+    public static void start() {
+        CURRENT.set(new ActionPhases());
+    }
+
+    // Switch the current action to another phase and return the one it was in
+    public static Phase enter(Phase phase) {
+        ActionPhases current = CURRENT.get();
+        if (current == null) {
+            return phase;
+        }
+        long now = System.nanoTime();
+        current.nanos[current.phase.ordinal()] += now - current.phaseStart;
+        current.phaseStart = now;
+
+        Phase previous = current.phase;
+        current.phase = phase;
+        return previous;
+    }
+
+    // Finish the current action and return nanoseconds spent per phase, indexed by ordinal
+    public static long[] stop() {
+        ActionPhases current = CURRENT.get();
+        CURRENT.remove();
+        if (current == null) {
+            return new long[Phase.values().length];
+        }
+        current.nanos[current.phase.ordinal()] += System.nanoTime() - current.phaseStart;
+        return current.nanos;
+    }
+}
@@ -0,0 +1,96 @@
+package abc.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.Transition;
+
+import abc.driver.ChromeLauncher;
+import abc.driver.RequestBlocker;
+
+// Reports, per action, how many requests fast mode blocked and how much quicker the action got.
+// Normal runs save their average action times as the baseline that fast runs are compared against.
+public class BlockedRequestListener extends AbstractListener {
+
+    private static final Path BASELINE = Paths.get(System.getProperty("abc.baseline", "target/action-baseline.properties"));
+
+    private final Map<String, long[]> totals = new TreeMap<>(); // action -> {runs, nanos, blocked}
+    private long actionStart;
+    private int blockedAtStart;
+
+    @Override
+    public String getName() {
+        return "blocked requests";
+    }
+
+    @Override
+    public void startAction(Object state, int action, String name) {
+        actionStart = System.nanoTime();
+        blockedAtStart = RequestBlocker.shared().getBlocked();
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        long[] total = totals.computeIfAbsent(tr.getAction(), name -> new long[3]);
+        total[0]++;
+        total[1] += System.nanoTime() - actionStart;
+        total[2] += RequestBlocker.shared().getBlocked() - blockedAtStart;
+    }
+
+    public void print() {
+        Properties baseline = loadBaseline();
+        boolean fast = ChromeLauncher.isFastMode();
+
+        System.out.println(fast ? "Fast mode per action:" : "Per action timings:");
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            long averageMs = total[1] / total[0] / 1_000_000;
+            String line = String.format("  %s: %d runs, avg %d ms", entry.getKey(), total[0], averageMs);
+            if (fast) {
+                line += String.format(", %d requests blocked", total[2]);
+                String before = baseline.getProperty(entry.getKey());
+                if (before != null) {
+                    line += String.format(", %d ms saved per run", Long.parseLong(before) - averageMs);
+                }
+            } else {
+                baseline.setProperty(entry.getKey(), String.valueOf(averageMs));
+            }
+            System.out.println(line);
+        }
+
+        if (!fast) {
+            saveBaseline(baseline);
+        }
+    }
+
+    private static Properties loadBaseline() {
+        Properties properties = new Properties();
+        if (Files.exists(BASELINE)) {
+            try (InputStream in = Files.newInputStream(BASELINE)) {
+                properties.load(in);
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable baseline " + BASELINE + ": " + e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static void saveBaseline(Properties properties) {
+        try {
+            Files.createDirectories(BASELINE.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(BASELINE)) {
+                properties.store(out, "Average action times in ms from the last normal run");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save baseline " + BASELINE + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package abc.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.TestFailureException;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Keeps the last few steps in a ring buffer of references, which is all a passing step pays for.
+// On a failure it grabs the screenshot, page source and console log from the browser while it is
+// still on the failing page, and a background thread writes them with the steps as one zip.
+public class FailureArtifacts extends AbstractListener {
+
+    private final Supplier<WebDriver> driver; // The model swaps drivers on reset, so look it up each time
+    private final Path directory;
+    private final Transition[] transitions; // Ring buffer of the most recent steps
+    private final long[] tookNanos;
+    private long steps;
+    private long actionStart;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "failure-artifacts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Future<Path>> bundles = new ArrayList<>();
+    private TestFailureException captured; // Reported by the tester and the test, only bundle it once
+
+    public FailureArtifacts(Supplier<WebDriver> driver, Path directory, int recentSteps) {
+        this.driver = driver;
+        this.directory = directory;
+        this.transitions = new Transition[recentSteps];
+        this.tookNanos = new long[recentSteps];
+    }
+
+    @Override
+    public String getName() {
+        return "failure artifacts";
+    }
+
+    @Override
+    public void startAction(Object state, int action, String name) {
+        actionStart = System.nanoTime();
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        int slot = (int) (steps++ % transitions.length);
+        transitions[slot] = tr;
+        tookNanos[slot] = System.nanoTime() - actionStart;
+    }
+
+    @Override
+    public void failure(TestFailureException failure) {
+        if (failure == captured) {
+            return;
+        }
+        captured = failure;
+
+        // Only the reads from the browser happen on the walk's thread, before anything navigates away
+        String recent = recentSteps(failure);
+        String report = stackTrace(failure);
+        WebDriver current = driver.get();
+        byte[] screenshot = null;
+        String source = null;
+        String console = null;
+        if (current != null) {
+            screenshot = read(() -> ((TakesScreenshot) current).getScreenshotAs(OutputType.BYTES));
+            source = read(() -> current.getCurrentUrl() + "\n\n" + current.getPageSource());
+            console = read(() -> consoleLog(current));
+        }
+
+        String name = String.format("failure-%d-%s.zip", System.currentTimeMillis(), failure.getActionName());
+        byte[] png = screenshot;
+        String html = source;
+        String log = console;
+        synchronized (bundles) {
+            bundles.add(writer.submit(() -> write(directory.resolve(name), report, recent, png, html, log)));
+        }
+    }
+
+    // Wait for the bundles still being written, returning where every bundle ended up
+    public List<Path> close() {
+        writer.shutdown();
+        List<Path> written = new ArrayList<>();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+            synchronized (bundles) {
+                for (Future<Path> bundle : bundles) {
+                    written.add(bundle.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to write failure artifacts", e.getCause());
+        }
+        return written;
+    }
+
+    // Oldest first, ending with the step that failed
+    private String recentSteps(TestFailureException failure) {
+        StringBuilder text = new StringBuilder();
+        long first = Math.max(0, steps - transitions.length);
+        for (long step = first; step < steps; step++) {
+            int slot = (int) (step % transitions.length);
+            text.append(String.format("%d\t%s\t%d ms%n", step + 1, transitions[slot], tookNanos[slot] / 1_000_000));
+        }
+        text.append(String.format("%d\t(%s, %s, ?)\tFAILED%n", steps + 1, failure.getState(), failure.getActionName()));
+        return text.toString();
+    }
+
+    private static String consoleLog(WebDriver driver) {
+        StringBuilder text = new StringBuilder();
+        for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+            text.append(entry).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static Path write(Path file, String report, String steps, byte[] screenshot, String source,
+            String console) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+                entry(zip, "failure.txt", report.getBytes(StandardCharsets.UTF_8));
+                entry(zip, "steps.tsv", steps.getBytes(StandardCharsets.UTF_8));
+                if (screenshot != null) {
+                    entry(zip, "screenshot.png", screenshot);
+                }
+                if (source != null) {
+                    entry(zip, "page.html", source.getBytes(StandardCharsets.UTF_8));
+                }
+                if (console != null) {
+                    entry(zip, "console.log", console.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            System.out.println("Failure artifacts written to " + file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write failure artifacts to " + file, e);
+        }
+    }
+
+    private static void entry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter text = new StringWriter();
+        failure.printStackTrace(new PrintWriter(text));
+        return text.toString();
+    }
+
+    // A browser that is already gone should not hide the failure being reported
+    private static <T> T read(Supplier<T> reader) {
+        try {
+            return reader.get();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package abc.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openqa.selenium.json.Json;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.Transition;
+
+import abc.metrics.ActionPhases.Phase;
+
+// Times every action and keeps a latency histogram per transition and per target state,
+// for the whole action and for each of its phases
+public class LatencyListener extends AbstractListener {
+
+    private static final String TOTAL = "total";
+
+    // scope ("transition" or "state") -> key -> phase name -> histogram
+    private final Map<String, Map<String, Map<String, LatencyHistogram>>> histograms = new TreeMap<>();
+
+    @Override
+    public String getName() {
+        return "latency";
+    }
+
+    @Override
+    public void startAction(Object state, int action, String name) {
+        ActionPhases.start();
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        long[] phases = ActionPhases.stop();
+        record("transition", tr.getStartState() + " --" + tr.getAction() + "--> " + tr.getEndState(), phases);
+        record("state", String.valueOf(tr.getEndState()), phases);
+    }
+
+    public synchronized void print() {
+        System.out.println("Action latency (ms, p50 / p99 / max):");
+        histograms.getOrDefault("transition", Map.of()).forEach((transition, phases) -> {
+            LatencyHistogram total = phases.get(TOTAL);
+            System.out.printf("  %s: %d runs, %s / %s / %s%n", transition, total.getCount(),
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(99)),
+                    millis(total.getMax()));
+        });
+    }
+
+    // Write latency.json and latency.csv into the given directory
+    public synchronized void export(Path directory) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        histograms.forEach((scope, keys) -> keys.forEach((key, phases) -> phases.forEach((phase, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("scope", scope);
+            row.put("key", key);
+            row.put("phase", phase);
+            row.put("count", histogram.getCount());
+            row.put("meanMs", histogram.getMean() / 1000.0);
+            row.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            row.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+            row.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            row.put("maxMs", histogram.getMax() / 1000.0);
+            rows.add(row);
+        })));
+
+        StringBuilder csv = new StringBuilder("scope,key,phase,count,meanMs,p50Ms,p90Ms,p99Ms,maxMs\n");
+        for (Map<String, Object> row : rows) {
+            List<String> cells = new ArrayList<>();
+            row.values().forEach(value -> cells.add(csvCell(value)));
+            csv.append(String.join(",", cells)).append('\n');
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("latency.json"), new Json().toJson(rows));
+            Files.writeString(directory.resolve("latency.csv"), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export latency to " + directory, e);
+        }
+    }
+
+    private synchronized void record(String scope, String key, long[] phaseNanos) {
+        Map<String, LatencyHistogram> phases = histograms
+                .computeIfAbsent(scope, s -> new TreeMap<>())
+                .computeIfAbsent(key, k -> new LinkedHashMap<>());
+
+        long totalNanos = 0;
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            totalNanos += nanos;
+            phases.computeIfAbsent(phase.name().toLowerCase(), p -> new LatencyHistogram()).record(nanos / 1000);
+        }
+        phases.computeIfAbsent(TOTAL, p -> new LatencyHistogram()).record(totalNanos / 1000);
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+
+    private static String csvCell(Object value) {
+        String text = String.valueOf(value);
+        if (text.contains(",") || text.contains("\"")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,101 @@
+package abc.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Streams one line per step to steps.log instead of printing it, moving the file to steps.log.1,
+// .2 and so on once it reaches the size limit and keeping only the newest few
+public class RotatingStepLog extends AbstractListener {
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int keep;
+
+    private BufferedWriter out;
+    private long written;
+    private long steps;
+    private long actionStart;
+
+    public RotatingStepLog(Path directory, long maxBytes, int keep) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.keep = keep;
+        open();
+    }
+
+    @Override
+    public String getName() {
+        return "step log";
+    }
+
+    @Override
+    public void startAction(Object state, int action, String name) {
+        actionStart = System.nanoTime();
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        steps++;
+        write(String.join("\t", String.valueOf(System.currentTimeMillis()), String.valueOf(steps),
+                String.valueOf(tr.getStartState()), tr.getAction(), String.valueOf(tr.getEndState()),
+                String.valueOf((System.nanoTime() - actionStart) / 1000)));
+    }
+
+    @Override
+    public void doneReset(String reason, boolean testing) {
+        write(String.join("\t", String.valueOf(System.currentTimeMillis()), String.valueOf(steps), "reset", reason));
+    }
+
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close step log", e);
+        }
+    }
+
+    private void write(String line) {
+        try {
+            out.write(line);
+            out.newLine();
+            written += line.length() + 1;
+            if (written >= maxBytes) {
+                out.close();
+                rotate();
+                open();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write step log", e);
+        }
+    }
+
+    // The oldest file is dropped and every other one moves up a number
+    private void rotate() throws IOException {
+        Files.deleteIfExists(directory.resolve("steps.log." + keep));
+        for (int i = keep - 1; i >= 1; i--) {
+            Path older = directory.resolve("steps.log." + i);
+            if (Files.exists(older)) {
+                Files.move(older, directory.resolve("steps.log." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(directory.resolve("steps.log"), directory.resolve("steps.log.1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            out = Files.newBufferedWriter(directory.resolve("steps.log"), StandardCharsets.UTF_8);
+            written = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open step log in " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package abc.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Samples JVM heap and browser memory during a soak run. The samples are kept in a fixed size
+// buffer: once it fills up every other sample is dropped and the interval doubles, so the whole
+// run stays covered without the monitor itself growing.
+public class SoakMonitor {
+
+    private static final int CAPACITY = 512;
+
+    private record Sample(long step, long heapBytes, long browserRssBytes, long jsHeapBytes, int recycles) {
+    }
+
+    private final List<Sample> samples = new ArrayList<>(CAPACITY);
+    private long interval; // Steps between samples
+    private int recycles;
+
+    public SoakMonitor(long interval) {
+        this.interval = interval;
+    }
+
+    public boolean isDue(long step) {
+        return step % interval == 0;
+    }
+
+    public void recycled() {
+        recycles++;
+    }
+
+    // Heap is read after a GC request so the samples show what is retained, not garbage
+    public void sample(long step, long browserRssBytes, long jsHeapBytes) {
+        System.gc();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        samples.add(new Sample(step, heap.getUsed(), browserRssBytes, jsHeapBytes, recycles));
+        if (samples.size() == CAPACITY) {
+            for (int i = samples.size() - 1; i > 0; i -= 2) {
+                samples.remove(i);
+            }
+            interval *= 2;
+        }
+    }
+
+    // Compare the first and last quarter of the run, flat memory means the later quarter is not bigger
+    public void print() {
+        if (samples.size() < 4) {
+            System.out.println("Soak memory: not enough samples");
+            return;
+        }
+        int quarter = samples.size() / 4;
+        List<Sample> first = samples.subList(0, quarter);
+        List<Sample> last = samples.subList(samples.size() - quarter, samples.size());
+        System.out.printf("Soak memory over %d steps, %d browser recycles:%n",
+                samples.get(samples.size() - 1).step(), recycles);
+        System.out.printf("  JVM heap: first quarter avg %d MB, last quarter avg %d MB, max %d MB%n",
+                mb(average(first, Sample::heapBytes)), mb(average(last, Sample::heapBytes)),
+                mb(samples.stream().mapToLong(Sample::heapBytes).max().orElse(0)));
+        long maxRss = samples.stream().mapToLong(Sample::browserRssBytes).max().orElse(-1);
+        if (maxRss < 0) {
+            System.out.println("  Browser RSS: not measured");
+            return;
+        }
+        System.out.printf("  Browser RSS: first quarter avg %d MB, last quarter avg %d MB, max %d MB%n",
+                mb(average(first, Sample::browserRssBytes)), mb(average(last, Sample::browserRssBytes)), mb(maxRss));
+    }
+
+    // Whether every sample has the browser's RSS, which needs a local browser on Linux
+    public boolean isRssMeasured() {
+        return samples.stream().noneMatch(sample -> sample.browserRssBytes() < 0);
+    }
+
+    // Where the last quarter's average heap or browser RSS is more than the given fraction above the
+    // first quarter's, empty when both stayed flat. Without RSS samples only the heap is checked.
+    public List<String> growth(double tolerance) {
+        if (samples.size() < 4) {
+            return List.of("only " + samples.size() + " memory samples, at least 4 are needed");
+        }
+        int quarter = samples.size() / 4;
+        List<Sample> first = samples.subList(0, quarter);
+        List<Sample> last = samples.subList(samples.size() - quarter, samples.size());
+        List<String> growth = new ArrayList<>();
+        checkFlat("JVM heap", average(first, Sample::heapBytes), average(last, Sample::heapBytes), tolerance, growth);
+        if (isRssMeasured()) {
+            checkFlat("Browser RSS", average(first, Sample::browserRssBytes), average(last, Sample::browserRssBytes),
+                    tolerance, growth);
+        }
+        return growth;
+    }
+
+    private static void checkFlat(String name, long first, long last, double tolerance, List<String> growth) {
+        if (last > first * (1 + tolerance)) {
+            growth.add(String.format("%s grew from %d MB to %d MB, more than %.0f%%",
+                    name, mb(first), mb(last), tolerance * 100));
+        }
+    }
+
+    public void export(Path file) {
+        StringBuilder csv = new StringBuilder("step,heapBytes,browserRssBytes,jsHeapBytes,recycles\n");
+        for (Sample sample : samples) {
+            csv.append(sample.step()).append(',').append(sample.heapBytes()).append(',')
+                    .append(sample.browserRssBytes()).append(',').append(sample.jsHeapBytes()).append(',')
+                    .append(sample.recycles()).append('\n');
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export soak samples to " + file, e);
+        }
+    }
+
+    private static long average(List<Sample> samples, ToLongFunction<Sample> value) {
+        return (long) samples.stream().mapToLong(value).average().orElse(0);
+    }
+
+    private static long mb(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+}
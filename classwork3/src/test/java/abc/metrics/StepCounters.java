@@ -0,0 +1,54 @@
+package abc.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Hit counts per state, action and transition. Memory grows with the size of the model,
+// never with the number of steps, so it can stay attached for a walk of any length.
+public class StepCounters extends AbstractListener {
+
+    private final Map<String, long[]> states = new HashMap<>();
+    private final Map<String, long[]> actions = new HashMap<>();
+    private final Map<Transition, long[]> transitions = new HashMap<>();
+    private long steps;
+    private long resets;
+
+    @Override
+    public String getName() {
+        return "step counters";
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        steps++;
+        count(states, String.valueOf(tr.getEndState()));
+        count(actions, tr.getAction());
+        count(transitions, tr);
+    }
+
+    @Override
+    public void doneReset(String reason, boolean testing) {
+        resets++;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public int getTransitionsCovered() {
+        return transitions.size();
+    }
+
+    public void print(int transitionsInModel) {
+        System.out.printf("Soak coverage: %d steps, %d resets, %d/%d transitions, %d states, %d actions%n",
+                steps, resets, transitions.size(), transitionsInModel, states.size(), actions.size());
+        transitions.forEach((tr, hits) -> System.out.printf("  %s: %d%n", tr, hits[0]));
+    }
+
+    private static <K> void count(Map<K, long[]> counters, K key) {
+        counters.computeIfAbsent(key, k -> new long[1])[0]++;
+    }
+}
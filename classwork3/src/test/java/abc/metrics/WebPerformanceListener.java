@@ -0,0 +1,202 @@
+package abc.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Reads Navigation and Resource Timing of the page every transition lands on, keeps a histogram
+// of each metric per state and per transition, and checks them against declared budgets.
+// Budgets come from perf-budgets.properties on the classpath or the file in -Dabc.budgets,
+// one line per limit: <STATE>.<metric>.p<percentile>=<limit>, e.g. SEARCH_PAGE.load.p95=2000 or
+// SEARCH_PAGE.ttfb.p99.9=800. A line that does not parse fails the listener as it is created.
+// They are only enforced when -Dabc.budgets is given or the run is against the local fixture
+// (-Dabc.offline), the live site's timings depend too much on the network to fail a run on.
+public class WebPerformanceListener extends AbstractListener {
+
+    // Times are in ms from the start of the navigation. Until the load event has fired the
+    // load time is taken as now, which is the shortest it can turn out to be. timeOrigin tells
+    // documents apart, a step that loaded no new document still sees the previous one's entry.
+    private static final String CAPTURE_SCRIPT = String.join("\n",
+            "var nav = performance.getEntriesByType('navigation')[0];",
+            "var resources = performance.getEntriesByType('resource');",
+            "var transfer = resources.reduce(function (sum, r) { return sum + (r.transferSize || 0); }, 0);",
+            "if (!nav) { return null; }",
+            "return {ttfb: nav.responseStart, domContentLoaded: nav.domContentLoadedEventEnd || performance.now(),",
+            "        load: nav.loadEventEnd || performance.now(), transferBytes: (nav.transferSize || 0) + transfer,",
+            "        requests: 1 + resources.length, document: performance.timeOrigin};");
+
+    // <STATE>.<metric>.p<percentile>, the percentile may have a fraction as in p99.9
+    private static final Pattern BUDGET_KEY = Pattern.compile("(\\w+)\\.(\\w+)\\.p(\\d+(?:\\.\\d+)?)");
+
+    private record Budget(String key, String state, String metric, double percentile, long limit) {
+    }
+
+    // Metric names as used in budgets, with the unit they are reported in
+    private static final Map<String, String> METRICS = new LinkedHashMap<>();
+
+    static {
+        METRICS.put("ttfb", "ms");
+        METRICS.put("domContentLoaded", "ms");
+        METRICS.put("load", "ms");
+        METRICS.put("transferBytes", "bytes");
+        METRICS.put("requests", "requests");
+    }
+
+    private final Supplier<WebDriver> driver; // The model swaps drivers on reset, so look it up each time
+    private final List<Budget> budgets = parseBudgets(loadBudgets());
+    private Object lastDocument; // timeOrigin of the document the previous step was measured on
+
+    // scope ("state" or "transition") -> key -> metric -> histogram of raw values
+    private final Map<String, Map<String, Map<String, LatencyHistogram>>> histograms = new TreeMap<>();
+
+    public WebPerformanceListener(Supplier<WebDriver> driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public String getName() {
+        return "web performance";
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        WebDriver current = driver.get();
+        if (current == null) {
+            return;
+        }
+        Map<?, ?> timings;
+        try {
+            timings = (Map<?, ?>) ((JavascriptExecutor) current).executeScript(CAPTURE_SCRIPT);
+        } catch (RuntimeException e) {
+            return; // Page went away under us, nothing to measure
+        }
+        if (timings == null || Objects.equals(timings.get("document"), lastDocument)) {
+            return; // Still the page the last step measured, its timings are not this transition's
+        }
+        lastDocument = timings.get("document");
+        record("state", String.valueOf(tr.getEndState()), timings);
+        record("transition", tr.getStartState() + " --" + tr.getAction() + "--> " + tr.getEndState(), timings);
+    }
+
+    public synchronized void print() {
+        System.out.println("Web performance per state (p50 / p95):");
+        histograms.getOrDefault("state", Map.of()).forEach((state, metrics) -> {
+            List<String> parts = new ArrayList<>();
+            metrics.forEach((metric, histogram) -> parts.add(String.format("%s %d / %d %s", metric,
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(95), METRICS.get(metric))));
+            System.out.printf("  %s (%d pages): %s%n", state, metrics.get("load").getCount(), String.join(", ", parts));
+        });
+    }
+
+    // Whether budget violations should fail the run, see the class comment
+    public static boolean isEnforced() {
+        return System.getProperty("abc.budgets") != null || Boolean.getBoolean("abc.offline");
+    }
+
+    // Every declared budget a state went over, empty when the run is within budget
+    public synchronized List<String> budgetViolations() {
+        List<String> violations = new ArrayList<>();
+        for (Budget budget : budgets) {
+            LatencyHistogram histogram = histograms.getOrDefault("state", Map.of())
+                    .getOrDefault(budget.state(), Map.of()).get(budget.metric());
+            if (histogram == null) {
+                continue; // State never visited in this run
+            }
+            long actual = histogram.getValueAtPercentile(budget.percentile());
+            if (actual > budget.limit()) {
+                violations.add(String.format("%s is %d %s, budget %d",
+                        budget.key(), actual, METRICS.get(budget.metric()), budget.limit()));
+            }
+        }
+        return violations;
+    }
+
+    // Write web-performance.csv into the given directory
+    public synchronized void export(Path directory) {
+        StringBuilder csv = new StringBuilder("scope,key,metric,unit,count,p50,p95,max\n");
+        histograms.forEach((scope, keys) -> keys.forEach((key, metrics) -> metrics.forEach((metric, histogram) ->
+                csv.append(String.join(",", scope, "\"" + key + "\"", metric, METRICS.get(metric),
+                        String.valueOf(histogram.getCount()),
+                        String.valueOf(histogram.getValueAtPercentile(50)),
+                        String.valueOf(histogram.getValueAtPercentile(95)),
+                        String.valueOf(histogram.getMax()))).append('\n'))));
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("web-performance.csv"), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export web performance to " + directory, e);
+        }
+    }
+
+    private synchronized void record(String scope, String key, Map<?, ?> timings) {
+        Map<String, LatencyHistogram> metrics = histograms
+                .computeIfAbsent(scope, s -> new TreeMap<>())
+                .computeIfAbsent(key, k -> new LinkedHashMap<>());
+        for (String metric : METRICS.keySet()) {
+            Object value = timings.get(metric);
+            if (value instanceof Number number) {
+                metrics.computeIfAbsent(metric, m -> new LatencyHistogram()).record(Math.round(number.doubleValue()));
+            }
+        }
+    }
+
+    // Every budget in key order, failing on the first line that is not a budget this listener can check
+    private static List<Budget> parseBudgets(Properties properties) {
+        List<Budget> budgets = new ArrayList<>();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            Matcher matcher = BUDGET_KEY.matcher(key);
+            if (!matcher.matches() || !METRICS.containsKey(matcher.group(2))) {
+                throw new IllegalArgumentException("Budget " + key
+                        + " is not <STATE>.<metric>.p<percentile> with a metric out of " + METRICS.keySet());
+            }
+            double percentile = Double.parseDouble(matcher.group(3));
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Budget " + key + " has a percentile outside (0, 100]");
+            }
+            String value = properties.getProperty(key).trim();
+            long limit;
+            try {
+                limit = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Budget " + key + " has limit " + value + ", not a whole number", e);
+            }
+            budgets.add(new Budget(key, matcher.group(1), matcher.group(2), percentile, limit));
+        }
+        return budgets;
+    }
+
+    private static Properties loadBudgets() {
+        Properties properties = new Properties();
+        String file = System.getProperty("abc.budgets");
+        try (InputStream in = file != null
+                ? Files.newInputStream(Paths.get(file))
+                : WebPerformanceListener.class.getResourceAsStream("/perf-budgets.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read performance budgets " + file, e);
+        }
+        return properties;
+    }
+}
@@ -1,12 +1,11 @@
 package abc.pageobjects;
 
-import java.time.Duration;
 import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+
+import abc.pageobjects.PageBackend.Query;
+import abc.pageobjects.PageBackend.Read;
 
 public class ArticlePageObject {
 
@@ -17,64 +16,73 @@ public class ArticlePageObject {
     By shareButtons = By.cssSelector(".WEJto");
     By popularArticles = By.cssSelector(".QGHKv.iVcn.avodi.rEPuv.ICwhc.ibBnq.Bkgbl.ZLXw.kSqqG.rEBmF ");
 
-    WebDriver driver;
-    
+    PageBackend page; // The browser, or the parsed page when there is none
+
     public ArticlePageObject(WebDriver driver) {
-        this.driver = driver;
+        this(driver, new LocatorCache(driver));
+    }
+
+    // Share one cache between the page objects driven by the same model
+    public ArticlePageObject(WebDriver driver, LocatorCache elements) {
+        this.page = new DriverPageBackend(driver, elements);
+    }
+
+    public ArticlePageObject(StaticPage page) {
+        this.page = new StaticPageBackend(page);
+    }
+
+    // Reads the title, visibility flags and counts the model needs in one round trip
+    public ArticleSnapshot snapshot() {
+        List<Object> read = page.read(
+                new Query(Read.TEXTS, articleTitle),
+                new Query(Read.SHOWN, articleTitle),
+                new Query(Read.SHOWN, articleBody),
+                new Query(Read.COUNT, shareButtons),
+                new Query(Read.COUNT, popularArticles),
+                Query.url());
+        List<String> title = PageBackend.strings(read.get(0));
+        return new ArticleSnapshot(
+                title.isEmpty() ? "" : title.get(0),
+                Boolean.TRUE.equals(read.get(1)),
+                Boolean.TRUE.equals(read.get(2)),
+                ((Number) read.get(3)).intValue(),
+                ((Number) read.get(4)).intValue(),
+                String.valueOf(read.get(5)));
     }
 
     public String getArticleTitle() {
-        WebElement title = driver.findElement(articleTitle);
-        String titleText = title.getText();
-        return titleText;
+        return page.text(articleTitle, 0);
     }
 
     public String getArticleAuthor() {
-        WebElement author = driver.findElement(articleAuthor);
-        String authorText = author.getText();
-        return authorText;
+        return page.text(articleAuthor, 0);
     }
 
     public String getArticleTimestamp() {
-        WebElement timestamp = driver.findElement(articleTimestamp);
-        String timestampText = timestamp.getText();
-        return timestampText;
+        return page.text(articleTimestamp, 0);
     }
 
     public int getShareButtonsCount() {
-        List<WebElement> shareButtonsList = driver.findElements(shareButtons);
-        int shareButtonsCount = shareButtonsList.size();
-        return shareButtonsCount;
+        return page.count(shareButtons);
     }
 
     public int getPopularArticlesCount() {
-        List<WebElement> popularArticlesList = driver.findElements(popularArticles);
-        int popularArticlesCount = popularArticlesList.size();
-        return popularArticlesCount;
+        return page.count(popularArticles);
     }
 
     public boolean articleBodyIsDisplayed() {
-        WebElement articleBodyElement = driver.findElement(articleBody);
-        return articleBodyElement.isDisplayed();
+        return page.shown(articleBody);
     }
 
+    // Critical elements that indicate complete article load, waited for in one round trip
     public boolean isFullyLoaded() {
-        try {
-            // Wait for critical elements that indicate complete article load
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(articleTitle));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(articleBody));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(shareButtons));
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return page.waitFor("ARTICLE_PAGE", articleTitle, articleBody, shareButtons);
     }
 
     public boolean isArticleContentVisible() {
         try {
-            return driver.findElement(articleTitle).isDisplayed() &&
-                   driver.findElement(articleBody).isDisplayed();
+            List<Object> read = page.read(new Query(Read.SHOWN, articleTitle), new Query(Read.SHOWN, articleBody));
+            return Boolean.TRUE.equals(read.get(0)) && Boolean.TRUE.equals(read.get(1));
         } catch (Exception e) {
             return false;
         }
@@ -82,7 +90,7 @@ public class ArticlePageObject {
 
     public boolean hasError() {
         try {
-            return driver.findElements(By.cssSelector(".error-message")).size() > 0;
+            return page.count(By.cssSelector(".error-message")) > 0;
         } catch (Exception e) {
             return false;
         }
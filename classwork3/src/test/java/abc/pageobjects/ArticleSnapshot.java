@@ -0,0 +1,15 @@
+package abc.pageobjects;
+
+// Everything the model reads from an article page, captured in a single script call
+public record ArticleSnapshot(
+        String title,         // Article title text, empty when missing
+        boolean titleVisible,
+        boolean bodyVisible,
+        int shareButtonsCount,
+        int popularArticlesCount,
+        String url) {
+
+    public boolean isContentVisible() {
+        return titleVisible && bodyVisible;
+    }
+}
@@ -0,0 +1,87 @@
+package abc.pageobjects;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+
+// The page in a browser: reads run as one script, actions go through the shared locator cache
+class DriverPageBackend implements PageBackend {
+
+    private static final String READ_SCRIPT = String.join("\n",
+            "function visible(e) { return !!e && e.getClientRects().length > 0 && getComputedStyle(e).visibility !== 'hidden'; }",
+            "function href(e) { var link = e.href ? e : e.querySelector('a'); return link ? link.href : ''; }",
+            "function all(q) {",
+            "  if (q[1] === 'css') { return Array.from(document.querySelectorAll(q[2])); }",
+            "  var found = document.evaluate(q[2], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);",
+            "  var elements = [];",
+            "  for (var i = 0; i < found.snapshotLength; i++) { elements.push(found.snapshotItem(i)); }",
+            "  return elements;",
+            "}",
+            "return arguments[0].map(function (q) {",
+            "  if (q[0] === 'URL') { return location.href; }",
+            "  var found = all(q);",
+            "  switch (q[0]) {",
+            "    case 'TEXTS': return found.map(function (e) { return e.innerText.trim(); });",
+            "    case 'HREFS': return found.map(href);",
+            "    case 'COUNT': return found.length;",
+            "    default: return visible(found[0]);",
+            "  }",
+            "});");
+
+    private final WebDriver driver;
+    private final LocatorCache elements; // Elements already found on the current page
+
+    DriverPageBackend(WebDriver driver, LocatorCache elements) {
+        this.driver = driver;
+        this.elements = elements;
+    }
+
+    @Override
+    public List<Object> read(Query... queries) {
+        List<List<String>> script = new ArrayList<>();
+        for (Query query : queries) {
+            List<String> parts = new ArrayList<>(List.of(query.read().name()));
+            if (query.locator() != null) {
+                parts.addAll(SelectorRegistry.queryOf(query.locator()));
+            }
+            script.add(parts);
+        }
+        return new ArrayList<>((List<?>) ((JavascriptExecutor) driver).executeScript(READ_SCRIPT, script));
+    }
+
+    @Override
+    public void follow(By locator, int index) {
+        elements.withAll(locator, found -> {
+            found.get(index).click();
+            return null;
+        });
+    }
+
+    @Override
+    public void submit(By opener, By input, String value, By button) {
+        elements.run(opener, WebElement::click);
+        elements.run(input, field -> field.sendKeys(value));
+        elements.run(button, WebElement::click);
+    }
+
+    @Override
+    public void choose(By select, String option) {
+        elements.run(select, element -> new Select(element).selectByVisibleText(option));
+    }
+
+    @Override
+    public boolean waitFor(String stateName, By... locators) {
+        try {
+            new PageReadiness(driver, Duration.ofSeconds(10)).await(stateName, true, locators);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
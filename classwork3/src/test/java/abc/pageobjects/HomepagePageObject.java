@@ -3,7 +3,10 @@ package abc.pageobjects;
 import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
+
+import abc.config.TestConfig;
+import abc.pageobjects.PageBackend.Query;
+import abc.pageobjects.PageBackend.Read;
 
 public class HomepagePageObject {
 
@@ -16,71 +19,83 @@ public class HomepagePageObject {
     By businessLink = By.linkText("Business");
     By mainArticle = By.cssSelector("div.liAe.uMOq.zYIfP");
     By homePageLink = By.cssSelector(".AnchorLink.navLogo__link");    
-    WebDriver driver;
+    PageBackend page; // The browser, or the parsed page when there is none
 
     public HomepagePageObject(WebDriver driver) {
-        this.driver = driver;
+        this(driver, new LocatorCache(driver));
+    }
+
+    // Share one cache between the page objects driven by the same model
+    public HomepagePageObject(WebDriver driver, LocatorCache elements) {
+        this.page = new DriverPageBackend(driver, elements);
+    }
+
+    public HomepagePageObject(StaticPage page) {
+        this.page = new StaticPageBackend(page);
+    }
+
+    // Reads every heading, link and flag the model needs in one round trip
+    public HomepageSnapshot snapshot() {
+        List<Object> read = page.read(
+                new Query(Read.TEXTS, articleHeading),
+                new Query(Read.HREFS, articles),
+                new Query(Read.TEXTS, mainArticleHeading()),
+                new Query(Read.SHOWN, mainArticle),
+                Query.url());
+        List<String> mainTitle = PageBackend.strings(read.get(2));
+        return new HomepageSnapshot(
+                PageBackend.strings(read.get(0)),
+                PageBackend.strings(read.get(1)),
+                mainTitle.isEmpty() ? "" : mainTitle.get(0),
+                Boolean.TRUE.equals(read.get(3)),
+                String.valueOf(read.get(4)));
+    }
+
+    // Headings inside the main article, the first one is its title
+    private By mainArticleHeading() {
+        return By.cssSelector(PageReadiness.cssOf(mainArticle) + " h2");
     }
 
     public void clickLiveLink() {
-        WebElement live = driver.findElement(liveLink);
-        live.click();
+        page.follow(liveLink, 0);
     }
 
     public void clickBusinessLink() {
-        WebElement business = driver.findElement(businessLink);
-        business.click();
+        page.follow(businessLink, 0);
     }
 
     public void searchFor(String query) {
-        WebElement search = driver.findElement(searchLens);
-        search.click();
-        WebElement searchInputField = driver.findElement(searchInput);
-        searchInputField.sendKeys(query);
-        WebElement searchSubmitButton = driver.findElement(searchSubmit);
-        searchSubmitButton.click();
+        page.submit(searchLens, searchInput, query, searchSubmit);
     }
 
     public void clickOnArticle(int index) {
-        List<WebElement> articleList = driver.findElements(articles);
-        WebElement article = articleList.get(index);
-        article.click();
+        page.follow(articles, index);
     }
 
     public String getArticleHeading() {
-        WebElement heading = driver.findElement(articleHeading);
-        String headingText = heading.getText();
-        return headingText;
+        return page.text(articleHeading, 0);
     }
 
     public String getArticleHeadingIndex(int index) {
-        List<WebElement> articleHeadingList = driver.findElements(articleHeading);
-        WebElement heading = articleHeadingList.get(index);
-        String headingText = heading.getText();
-        return headingText;
+        return page.text(articleHeading, index);
     }
 
     public String getMainArticleTitle() {
-        WebElement mainArticleElement = driver.findElement(mainArticle);
-        WebElement titleElement = mainArticleElement.findElement(By.cssSelector("h2"));
-        String title = titleElement.getText();
-        return title;
+        return page.text(mainArticleHeading(), 0);
     }
 
     public void clickOnMainArticle() {
-        WebElement mainArticleElement = driver.findElement(mainArticle);
-        mainArticleElement.click();
+        page.follow(mainArticle, 0);
     }
 
     public void clickOnHomePageLink() {
-        WebElement homePageLinkElement = driver.findElement(homePageLink);
-        homePageLinkElement.click();
+        page.follow(homePageLink, 0);
     }
 
     public boolean isHomePageLoaded() {
         try {
-            return driver.getCurrentUrl().equals("https://abcnews.go.com/") &&
-                   driver.findElement(mainArticle).isDisplayed();
+            List<Object> read = page.read(Query.url(), new Query(Read.SHOWN, mainArticle));
+            return TestConfig.homeUrl().equals(read.get(0)) && Boolean.TRUE.equals(read.get(1));
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,28 @@
+package abc.pageobjects;
+
+import java.util.List;
+
+// Everything the model reads from the homepage, captured in a single script call
+public record HomepageSnapshot(
+        List<String> articleHeadings, // Text of each article heading, in page order
+        List<String> articleHrefs,    // Link target of each article card, in page order
+        String mainArticleTitle,      // Heading of the main article, empty when missing
+        boolean mainArticleVisible,
+        String url) {
+
+    public HomepageSnapshot {
+        articleHeadings = List.copyOf(articleHeadings);
+        articleHrefs = List.copyOf(articleHrefs);
+    }
+
+    public int articleCount() {
+        return articleHrefs.size();
+    }
+
+    public String articleHeading(int index) {
+        if (index < 0 || index >= articleHeadings.size()) {
+            throw new IndexOutOfBoundsException("Article index " + index + " is out of bounds. Total articles: " + articleHeadings.size());
+        }
+        return articleHeadings.get(index);
+    }
+}
@@ -0,0 +1,118 @@
+package abc.pageobjects;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+// Resolved elements of the page the model is on, so a By is only looked up over the wire once per
+// page. Entries belong to a model state and URL: the model enters each state it lands in, entering a
+// different one drops them all, and an element that turns out stale (the page navigated or re-rendered
+// without the model saying so) is dropped and looked up again. Counts are never served from the cache.
+public class LocatorCache {
+
+    // Hits, misses and stale drops per locator, shared by every instance
+    private static final Map<String, long[]> COUNTS = new TreeMap<>();
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final Map<By, List<WebElement>> lists = new HashMap<>();
+    private String page; // "STATE URL" the cached elements were found on, null until the model says
+
+    public LocatorCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Called by the model whenever it lands in a state, keeps the cache only if nothing changed
+    public void enter(Object state, String url) {
+        String entered = state + " " + url;
+        if (!entered.equals(page)) {
+            clear();
+            page = entered;
+        }
+    }
+
+    public void clear() {
+        elements.clear();
+        lists.clear();
+    }
+
+    // Use the element behind the locator, looking it up again once if the cached one went stale
+    public <T> T with(By locator, Function<WebElement, T> use) {
+        try {
+            return use.apply(find(locator));
+        } catch (StaleElementReferenceException e) {
+            stale(locator);
+            return use.apply(find(locator));
+        }
+    }
+
+    public void run(By locator, Consumer<WebElement> use) {
+        with(locator, element -> {
+            use.accept(element);
+            return null;
+        });
+    }
+
+    // Same for every element matching the locator
+    public <T> T withAll(By locator, Function<List<WebElement>, T> use) {
+        try {
+            return use.apply(findAll(locator));
+        } catch (StaleElementReferenceException e) {
+            stale(locator);
+            return use.apply(findAll(locator));
+        }
+    }
+
+    // How many elements match right now, always looked up since a cached list cannot go stale by itself
+    public int count(By locator) {
+        return driver.findElements(locator).size();
+    }
+
+    public WebElement find(By locator) {
+        WebElement element = elements.get(locator);
+        record(locator, element != null ? 0 : 1);
+        if (element == null) {
+            element = driver.findElement(locator);
+            elements.put(locator, element);
+        }
+        return element;
+    }
+
+    public List<WebElement> findAll(By locator) {
+        List<WebElement> found = lists.get(locator);
+        record(locator, found != null ? 0 : 1);
+        if (found == null) {
+            found = List.copyOf(driver.findElements(locator));
+            lists.put(locator, found);
+        }
+        return found;
+    }
+
+    public static void printStatistics() {
+        synchronized (COUNTS) {
+            System.out.println("Locator cache per locator (hits / misses / stale):");
+            COUNTS.forEach((locator, counts) -> System.out.printf(
+                    "  %s: %d / %d / %d%n", locator, counts[0], counts[1], counts[2]));
+        }
+    }
+
+    private void stale(By locator) {
+        elements.remove(locator);
+        lists.remove(locator);
+        record(locator, 2);
+    }
+
+    private static void record(By locator, int which) {
+        synchronized (COUNTS) {
+            COUNTS.computeIfAbsent(locator.toString(), key -> new long[3])[which]++;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package abc.pageobjects;
+
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+
+// What the page objects do to a page, whether a browser shows it or it was fetched and parsed without
+// one. Reads take several queries at once so a whole snapshot is still a single browser round trip.
+interface PageBackend {
+
+    enum Read {
+        TEXTS,  // Text of every match, List<String>
+        HREFS,  // Link target of every match, itself or its first link inside, List<String>
+        COUNT,  // Number of matches, a Number
+        SHOWN,  // Whether the first match is shown, false when there is none
+        URL     // Address of the page, no locator
+    }
+
+    record Query(Read read, By locator) {
+
+        static Query url() {
+            return new Query(Read.URL, null);
+        }
+    }
+
+    // Results in the order of the queries
+    List<Object> read(Query... queries);
+
+    // Click the index-th match, on a parsed page go where it links to
+    void follow(By locator, int index);
+
+    // Open the form with the opener, fill the input and press the button, a parsed page submits the
+    // form around the input the way a GET form would
+    void submit(By opener, By input, String value, By button);
+
+    // Pick an option of a drop-down by its text, which navigates from an onchange handler
+    void choose(By select, String option);
+
+    // Whether every locator shows up on the state's page, in a browser waiting for them for a while first
+    boolean waitFor(String stateName, By... locators);
+
+    default List<String> texts(By locator) {
+        return strings(read(new Query(Read.TEXTS, locator)).get(0));
+    }
+
+    // Text of the index-th match, failing the way findElement does when there is none
+    default String text(By locator, int index) {
+        return nth(texts(locator), locator, index);
+    }
+
+    default String href(By locator, int index) {
+        return nth(strings(read(new Query(Read.HREFS, locator)).get(0)), locator, index);
+    }
+
+    default int count(By locator) {
+        return ((Number) read(new Query(Read.COUNT, locator)).get(0)).intValue();
+    }
+
+    default boolean shown(By locator) {
+        return Boolean.TRUE.equals(read(new Query(Read.SHOWN, locator)).get(0));
+    }
+
+    default String currentUrl() {
+        return String.valueOf(read(Query.url()).get(0));
+    }
+
+    static List<String> strings(Object list) {
+        return ((List<?>) list).stream().map(String::valueOf).toList();
+    }
+
+    private static String nth(List<String> values, By locator, int index) {
+        if (values.isEmpty()) {
+            throw new NoSuchElementException("No " + locator + " on the page");
+        }
+        if (index < 0 || index >= values.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + locator + " is out of bounds. Total: "
+                    + values.size());
+        }
+        return values.get(index);
+    }
+}
@@ -0,0 +1,130 @@
+package abc.pageobjects;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import abc.metrics.ActionPhases;
+import abc.metrics.ActionPhases.Phase;
+
+// Waits for a page to be ready in one round trip: a MutationObserver inside the page
+// resolves the moment every required selector is present, instead of polling from Java
+public class PageReadiness {
+
+    private static final String AWAIT_SCRIPT = String.join("\n",
+            "var selectors = arguments[0], visible = arguments[1], timeout = arguments[2];",
+            "var done = arguments[arguments.length - 1];",
+            "var start = performance.now();",
+            "function missing() {",
+            "  return selectors.filter(function (selector) {",
+            "    var element = document.querySelector(selector);",
+            "    return !element || (visible && element.getClientRects().length === 0);",
+            "  });",
+            "}",
+            "if (missing().length === 0) { done({ready: true, waited: 0, missing: []}); return; }",
+            "var observer = new MutationObserver(function () { if (missing().length === 0) { finish(true); } });",
+            "var timer = setTimeout(function () { finish(false); }, timeout);",
+            "function finish(ready) {",
+            "  observer.disconnect();",
+            "  clearTimeout(timer);",
+            "  done({ready: ready, waited: performance.now() - start, missing: missing()});",
+            "}",
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true});");
+
+    // Readiness latency in microseconds per state name, shared by every instance
+    private static final Map<String, LongSummaryStatistics> LATENCIES = new TreeMap<>();
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public PageReadiness(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    // Block until every locator is present, or visible when asked, and record how long it took
+    public void await(String stateName, boolean visible, By... locators) {
+        Phase previous = ActionPhases.enter(Phase.WAIT);
+        try {
+            awaitSelectors(stateName, visible, locators);
+        } finally {
+            ActionPhases.enter(previous);
+        }
+    }
+
+    private void awaitSelectors(String stateName, boolean visible, By... locators) {
+        List<String> selectors = Arrays.stream(locators).map(PageReadiness::cssOf).toList();
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        Object missing = selectors;
+        Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+        try {
+            while (System.nanoTime() < deadline) {
+                long remainingMs = Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+                try {
+                    driver.manage().timeouts().scriptTimeout(Duration.ofMillis(remainingMs + 1000));
+                    Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver)
+                            .executeAsyncScript(AWAIT_SCRIPT, selectors, visible, remainingMs);
+                    if (Boolean.TRUE.equals(result.get("ready"))) {
+                        record(stateName, System.nanoTime() - start);
+                        return;
+                    }
+                    missing = result.get("missing");
+                } catch (ScriptTimeoutException e) {
+                    // The observer outlived the script timeout, go round with what is left
+                } catch (JavascriptException e) {
+                    if (!isNavigation(e)) {
+                        throw e;
+                    }
+                    // The page navigated away while we were observing it, watch the new one
+                }
+            }
+        } finally {
+            driver.manage().timeouts().scriptTimeout(scriptTimeout);
+        }
+        throw new TimeoutException("Page for " + stateName + " not ready after " + timeout.toMillis()
+                + " ms, missing " + missing);
+    }
+
+    // How chromedriver reports a script whose document went away under it
+    private static boolean isNavigation(JavascriptException e) {
+        String message = String.valueOf(e.getMessage());
+        return message.contains("document unloaded") || message.contains("Execution context was destroyed")
+                || message.contains("Cannot find context");
+    }
+
+    public static void printStatistics() {
+        synchronized (LATENCIES) {
+            System.out.println("Page readiness per state:");
+            LATENCIES.forEach((state, stats) -> System.out.printf(
+                    "  %s: %d waits, avg %d ms, max %d ms%n",
+                    state, stats.getCount(), (long) stats.getAverage() / 1000, stats.getMax() / 1000));
+        }
+    }
+
+    private static void record(String stateName, long nanos) {
+        synchronized (LATENCIES) {
+            LATENCIES.computeIfAbsent(stateName, name -> new LongSummaryStatistics()).accept(nanos / 1000);
+        }
+    }
+
+    // The observer only understands CSS, so unwrap the selector behind the By
+    static String cssOf(By locator) {
+        if (locator instanceof By.Remotable remotable
+                && "css selector".equals(remotable.getRemoteParameters().using())) {
+            return String.valueOf(remotable.getRemoteParameters().value()).trim();
+        }
+        throw new IllegalArgumentException("Readiness needs a CSS locator, got " + locator);
+    }
+}
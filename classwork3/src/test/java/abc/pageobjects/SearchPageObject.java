@@ -3,10 +3,9 @@ package abc.pageobjects;
 import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
+
+import abc.pageobjects.PageBackend.Query;
+import abc.pageobjects.PageBackend.Read;
 
 public class SearchPageObject {
 
@@ -20,52 +19,64 @@ public class SearchPageObject {
     By articleContainers = By.cssSelector(".ContentRoll__Item");
     private String currentFilter;
 
-    private final WebDriverWait wait;
-    WebDriver driver;
+    PageBackend page; // The browser, or the parsed page when there is none
+
+    public SearchPageObject(WebDriver driver) {
+        this(driver, new LocatorCache(driver));
+    }
+
+    // Share one cache between the page objects driven by the same model
+    public SearchPageObject(WebDriver driver, LocatorCache elements) {
+        this.page = new DriverPageBackend(driver, elements);
+    }
+
+    public SearchPageObject(StaticPage page) {
+        this.page = new StaticPageBackend(page);
+    }
 
-    public SearchPageObject(WebDriver driver, WebDriverWait wait) {
-        this.driver = driver;
-        this.wait = wait;
+    // Reads every headline, link and count the model needs in one round trip
+    public SearchSnapshot snapshot() {
+        List<Object> read = page.read(
+                new Query(Read.TEXTS, articleHeadlines),
+                new Query(Read.HREFS, articleHeadlines),
+                new Query(Read.COUNT, searchedArticles),
+                new Query(Read.TEXTS, searchResultsTotal),
+                Query.url());
+        List<String> total = PageBackend.strings(read.get(3));
+        return new SearchSnapshot(
+                PageBackend.strings(read.get(0)),
+                PageBackend.strings(read.get(1)),
+                ((Number) read.get(2)).intValue(),
+                total.isEmpty() ? "" : total.get(0),
+                String.valueOf(read.get(4)));
     }
-    
+
     public String getSearchResultsTotal() {
-        WebElement searchResults = driver.findElement(searchResultsTotal);
-        String searchResultsText = searchResults.getText();
-        return searchResultsText;
+        return page.text(searchResultsTotal, 0);
     }
 
     public void clickOnArticle(int index) {
-        List<WebElement> articleList = driver.findElements(searchedArticles);
-        WebElement article = articleList.get(index);
-        article.click();
+        page.follow(searchedArticles, index);
     }
 
     public void sortBy(String option) {
-        WebElement sortByFilterElement = driver.findElement(sortByFilter);
-        sortByFilterElement.click();
-        Select selectSortByFilter = new Select(sortByFilterElement);
-        selectSortByFilter.selectByVisibleText(option);
+        page.choose(sortByFilter, option);
     }
 
     public String getArticleTimeStamp() {
-        WebElement articleTimeStamp = driver.findElement(searchArticleTimeStamp);
-        String articleTimeStampText = articleTimeStamp.getText();
-        return articleTimeStampText;
+        return page.text(searchArticleTimeStamp, 0);
     }
 
     public boolean noResultsFound() {
-        List<WebElement> noResultsElements = driver.findElements(searchedArticles);
-        return noResultsElements.size() == 0;
+        return page.count(searchedArticles) == 0;
     }
 
     public String getNoResultsText() {
-        WebElement noResultsElement = driver.findElement(noResults);
-        return noResultsElement.getText();
+        return page.text(noResults, 0);
     }
 
     public int getSearchResultsCount() {
-        List<WebElement> searchResults = driver.findElements(searchedArticles);
-        return searchResults.size();
+        return page.count(searchedArticles);
     }
 
     public boolean isSearchResultVisible() {
@@ -81,9 +92,7 @@ public class SearchPageObject {
     }
 
     public void filterByDate(String option) {
-        WebElement dateFilterElement = driver.findElement(dateFilter);
-        Select selectDateFilter = new Select(dateFilterElement);
-        selectDateFilter.selectByVisibleText(option);
+        page.choose(dateFilter, option);
         currentFilter = option;
     }
 
@@ -92,27 +101,10 @@ public class SearchPageObject {
     }
 
     public String getSearchResultsHeadline(int index) {
-        // Wait for headlines to be present and get all headlines
-        List<WebElement> headlines = wait.until(
-            ExpectedConditions.presenceOfAllElementsLocatedBy(articleHeadlines)
-        );
-        
-        if (index >= 0 && index < headlines.size()) {
-            return headlines.get(index).getText();
-        } else {
-            throw new IndexOutOfBoundsException("Article index " + index + " is out of bounds. Total articles: " + headlines.size());
-        }
+        return page.text(articleHeadlines, index);
     }
 
     public String getArticleUrl(int index) {
-        List<WebElement> articles = wait.until(
-            ExpectedConditions.presenceOfAllElementsLocatedBy(articleHeadlines)
-        );
-        
-        if (index >= 0 && index < articles.size()) {
-            return articles.get(index).getAttribute("href");
-        } else {
-            throw new IndexOutOfBoundsException("Article index " + index + " is out of bounds. Total articles: " + articles.size());
-        }
+        return page.href(articleHeadlines, index);
     }
 }
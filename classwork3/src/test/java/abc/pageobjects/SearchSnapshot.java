@@ -0,0 +1,37 @@
+package abc.pageobjects;
+
+import java.util.List;
+
+// Everything the model reads from a search results page, captured in a single script call
+public record SearchSnapshot(
+        List<String> headlines,   // Text of each result headline, in page order
+        List<String> articleUrls, // Absolute href of each result headline, in page order
+        int resultCount,          // Number of result items on the page
+        String resultsTotal,      // Text of the results total banner, empty when missing
+        String url) {
+
+    public SearchSnapshot {
+        headlines = List.copyOf(headlines);
+        articleUrls = List.copyOf(articleUrls);
+    }
+
+    public boolean noResultsFound() {
+        return resultCount == 0;
+    }
+
+    public String headline(int index) {
+        checkIndex(index);
+        return headlines.get(index);
+    }
+
+    public String articleUrl(int index) {
+        checkIndex(index);
+        return articleUrls.get(index);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= headlines.size()) {
+            throw new IndexOutOfBoundsException("Article index " + index + " is out of bounds. Total articles: " + headlines.size());
+        }
+    }
+}
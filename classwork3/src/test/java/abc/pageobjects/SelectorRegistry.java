@@ -0,0 +1,273 @@
+package abc.pageobjects;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+import abc.metrics.ActionPhases;
+import abc.metrics.ActionPhases.Phase;
+
+// Every By the page objects declare, checked in one script as soon as the model enters a state.
+// A rotten selector fails the walk with its name straight away instead of after a full wait
+// the first time an action happens to use it.
+public class SelectorRegistry {
+
+    // Counts matches of every selector, with how long each query took
+    private static final String COUNT_FUNCTION = String.join("\n",
+            "function count(selectors) {",
+            "  return selectors.map(function (s) {",
+            "    var start = performance.now();",
+            "    var matches = s[0] === 'css' ? document.querySelectorAll(s[1]).length",
+            "        : document.evaluate(s[1], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;",
+            "    return [matches, performance.now() - start];",
+            "  });",
+            "}");
+    private static final String CHECK_SCRIPT = COUNT_FUNCTION + "\nreturn count(arguments[0]);";
+    // Same count once the grace period is over
+    private static final String RECHECK_SCRIPT = COUNT_FUNCTION + "\n"
+            + "var selectors = arguments[0], done = arguments[arguments.length - 1];\n"
+            + "setTimeout(function () { done(count(selectors)); }, arguments[1]);";
+
+    // Structure under every match of every selector, tags and classes only, down to a fixed depth.
+    // Children and matches go in as the sorted set of their distinct skeletons, so a page with more
+    // results or the same blocks in another order has the same skeleton, while a change to any match shows.
+    private static final String SKELETON_SCRIPT = String.join("\n",
+            "var queries = arguments[0], depth = arguments[1];",
+            "function distinct(parts) {",
+            "  return parts.filter(function (part, i) { return parts.indexOf(part) === i; }).sort().join(',');",
+            "}",
+            "function node(e, level) {",
+            "  var text = e.tagName.toLowerCase() + Array.from(e.classList, function (c) { return '.' + c; }).join('');",
+            "  if (level >= depth || e.children.length === 0) { return text; }",
+            "  return text + '(' + distinct(Array.from(e.children, function (child) { return node(child, level + 1); })) + ')';",
+            "}",
+            "return queries.map(function (q) {",
+            "  var found = [];",
+            "  if (q[0] === 'css') {",
+            "    found = Array.from(document.querySelectorAll(q[1]));",
+            "  } else {",
+            "    var snapshot = document.evaluate(q[1], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);",
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }",
+            "  }",
+            "  return found.length === 0 ? '-' : distinct(found.map(function (e) { return node(e, 0); }));",
+            "});");
+
+    private static final int SKELETON_DEPTH = 3;
+
+    // Locators declared by each page object class, "Class.field" -> By
+    private static final Map<Class<?>, Map<String, By>> DECLARED = new ConcurrentHashMap<>();
+
+    // Checks, matches and query time per selector, shared by every instance
+    private static final Map<String, SelectorStats> STATS = new TreeMap<>();
+
+    private final WebDriver driver;
+    private final Duration grace; // Selectors missing once the page is ready get this long to turn up
+    private final StaticPage page; // Set instead of the driver when pages are parsed without a browser
+    private final Map<Object, Map<String, By>> required = new HashMap<>(); // State -> name -> locator
+
+    private static class SelectorStats {
+        long checks;
+        long misses;
+        long matches;
+        long queryMicros;
+    }
+
+    public SelectorRegistry(WebDriver driver, Duration grace) {
+        this.driver = driver;
+        this.grace = grace;
+        this.page = null;
+    }
+
+    // Only fingerprints parsed pages, StaticPage.require already checks them as they are served
+    public SelectorRegistry(StaticPage page) {
+        this.driver = null;
+        this.grace = null;
+        this.page = page;
+    }
+
+    // Every By field of the page object must match on the state's page, apart from the optional ones
+    // (fields that only show in some cases, e.g. the no results message)
+    public SelectorRegistry register(Object state, Object pageObject, String... optionalFields) {
+        Set<String> optional = Set.of(optionalFields);
+        Map<String, By> locators = required.computeIfAbsent(state, s -> new LinkedHashMap<>());
+        declaredLocators(pageObject).forEach((name, locator) -> {
+            if (!optional.contains(name.substring(name.indexOf('.') + 1))) {
+                locators.put(name, locator);
+            }
+        });
+        return this;
+    }
+
+    // Count every registered selector of the state in one round trip, once the page is ready. Missing
+    // selectors get a single recount after the grace period before the check fails naming them.
+    public void check(Object state) {
+        Map<String, By> locators = required.getOrDefault(state, Map.of());
+        if (locators.isEmpty()) {
+            return;
+        }
+        Phase previous = ActionPhases.enter(Phase.WAIT);
+        try {
+            checkSelectors(state, locators);
+        } finally {
+            ActionPhases.enter(previous);
+        }
+    }
+
+    private void checkSelectors(Object state, Map<String, By> locators) {
+        List<List<String>> queries = new ArrayList<>();
+        locators.values().forEach(locator -> queries.add(queryOf(locator)));
+        List<?> results = (List<?>) ((JavascriptExecutor) driver).executeScript(CHECK_SCRIPT, queries);
+        if (hasMissing(results) && !grace.isZero()) {
+            results = (List<?>) ((JavascriptExecutor) driver).executeAsyncScript(
+                    RECHECK_SCRIPT, queries, grace.toMillis());
+        }
+
+        List<String> missing = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            List<?> result = (List<?>) results.get(i++);
+            long matches = ((Number) result.get(0)).longValue();
+            long micros = Math.round(((Number) result.get(1)).doubleValue() * 1000);
+            record(entry.getKey(), matches, micros);
+            if (matches == 0) {
+                missing.add(entry.getKey() + " " + entry.getValue());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new NoSuchElementException("Page for " + state + " at " + driver.getCurrentUrl()
+                    + " is missing " + String.join(", ", missing));
+        }
+    }
+
+    private static boolean hasMissing(List<?> results) {
+        return results.stream().anyMatch(result -> ((Number) ((List<?>) result).get(0)).longValue() == 0);
+    }
+
+    // Hash of the DOM skeleton under every registered selector of the state, which changes when the
+    // layout does but not when only the text or the number of results does
+    public String fingerprint(Object state) {
+        Map<String, By> locators = required.getOrDefault(state, Map.of());
+        List<String> skeletons;
+        if (page != null) {
+            skeletons = locators.values().stream().map(locator -> {
+                Elements found = page.select(locator);
+                return found.isEmpty() ? "-" : distinct(found.stream().map(element -> skeleton(element, 0)));
+            }).toList();
+        } else {
+            List<List<String>> queries = new ArrayList<>();
+            locators.values().forEach(locator -> queries.add(queryOf(locator)));
+            skeletons = ((List<?>) ((JavascriptExecutor) driver).executeScript(SKELETON_SCRIPT, queries, SKELETON_DEPTH))
+                    .stream().map(String::valueOf).toList();
+        }
+
+        StringBuilder text = new StringBuilder();
+        int i = 0;
+        for (String name : locators.keySet()) {
+            text.append(name).append('=').append(skeletons.get(i++)).append('\n');
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Same as node() in the skeleton script, on a parsed element
+    private static String skeleton(Element element, int level) {
+        StringBuilder text = new StringBuilder(element.normalName());
+        element.classNames().forEach(name -> text.append('.').append(name));
+        if (level >= SKELETON_DEPTH || element.children().isEmpty()) {
+            return text.toString();
+        }
+        return text.append('(').append(distinct(element.children().stream().map(child -> skeleton(child, level + 1))))
+                .append(')').toString();
+    }
+
+    // Same as distinct() in the skeleton script
+    private static String distinct(Stream<String> parts) {
+        return parts.distinct().sorted().collect(Collectors.joining(","));
+    }
+
+    public static void printStatistics() {
+        synchronized (STATS) {
+            System.out.println("Selector health (checks, misses, avg matches, avg query time):");
+            STATS.forEach((name, stats) -> System.out.printf("  %s: %d checks, %d missing, %.1f matches, %d us%n",
+                    name, stats.checks, stats.misses, (double) stats.matches / stats.checks,
+                    stats.queryMicros / stats.checks));
+        }
+    }
+
+    private static void record(String name, long matches, long micros) {
+        synchronized (STATS) {
+            SelectorStats stats = STATS.computeIfAbsent(name, n -> new SelectorStats());
+            stats.checks++;
+            stats.matches += matches;
+            stats.queryMicros += micros;
+            if (matches == 0) {
+                stats.misses++;
+            }
+        }
+    }
+
+    // Every By field of the page object, read once per class since they are plain field initialisers
+    static Map<String, By> declaredLocators(Object pageObject) {
+        return DECLARED.computeIfAbsent(pageObject.getClass(), type -> {
+            Map<String, By> locators = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (By.class.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        locators.put(type.getSimpleName() + "." + field.getName(), (By) field.get(pageObject));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot read locator " + field, e);
+                    }
+                }
+            }
+            return locators;
+        });
+    }
+
+    // ["css", selector] or ["xpath", expression] for the in-page check
+    static List<String> queryOf(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            throw new IllegalArgumentException("Cannot check locator " + locator + " in the page");
+        }
+        String value = String.valueOf(remotable.getRemoteParameters().value()).trim();
+        return switch (remotable.getRemoteParameters().using()) {
+            case "css selector" -> List.of("css", value);
+            case "name" -> List.of("css", "[name=\"" + value + "\"]");
+            case "id" -> List.of("css", "[id=\"" + value + "\"]");
+            case "class name" -> List.of("css", "." + value);
+            case "tag name" -> List.of("css", value);
+            case "link text" -> List.of("xpath", "//a[normalize-space(.)=" + xpathLiteral(value) + "]");
+            case "partial link text" -> List.of("xpath", "//a[contains(normalize-space(.), " + xpathLiteral(value) + ")]");
+            case "xpath" -> List.of("xpath", value);
+            default -> throw new IllegalArgumentException("Cannot check locator " + locator + " in the page");
+        };
+    }
+
+    private static String xpathLiteral(String value) {
+        return value.contains("'") ? "\"" + value + "\"" : "'" + value + "'";
+    }
+}
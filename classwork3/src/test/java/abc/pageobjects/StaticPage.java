@@ -0,0 +1,147 @@
+package abc.pageobjects;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import abc.driver.DriverPool;
+
+// A page fetched over plain HTTP and parsed in the JVM, for checks that only read the served DOM.
+// Nothing on it runs JavaScript, so actions that need scripts are handed to a pooled browser.
+public class StaticPage {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private static final AtomicInteger FETCHES = new AtomicInteger();
+    private static final AtomicInteger BROWSER_FALLBACKS = new AtomicInteger();
+
+    private Document document;
+    private String currentUrl;
+    private WebDriver browser; // Leased the first time a script is needed, kept until close
+
+    public void open(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            currentUrl = response.uri().toString();
+            document = Jsoup.parse(response.body(), currentUrl);
+            FETCHES.incrementAndGet();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to fetch " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted fetching " + url, e);
+        }
+    }
+
+    public String getCurrentUrl() {
+        return currentUrl;
+    }
+
+    // Any locator the page objects use, link texts go through the same XPath the selector check uses
+    public Elements select(By locator) {
+        List<String> query = SelectorRegistry.queryOf(locator);
+        return query.get(0).equals("css") ? document.select(query.get(1)) : document.selectXpath(query.get(1));
+    }
+
+    // First match, failing the way findElement does when there is none
+    public Element first(By locator) {
+        Element element = select(locator).first();
+        if (element == null) {
+            throw new NoSuchElementException("No " + locator + " on " + currentUrl);
+        }
+        return element;
+    }
+
+    // Parsed pages are complete, so being ready only means the element was served
+    public void require(String stateName, By locator) {
+        if (select(locator).isEmpty()) {
+            throw new NoSuchElementException("Page for " + stateName + " at " + currentUrl
+                    + " has no " + locator);
+        }
+    }
+
+    // Go where the index-th matching element links to, itself or its first link inside
+    public void follow(By locator, int index) {
+        Element element = select(locator).get(index);
+        Element link = element.hasAttr("href") ? element : element.selectFirst("a[href]");
+        if (link == null) {
+            throw new NoSuchElementException("No link in " + locator + " #" + index);
+        }
+        open(link.absUrl("href"));
+    }
+
+    // Submit the form around the input with the given value, the way a GET form would
+    public void submit(By input, String value) {
+        Element field = select(input).first();
+        Element form = field == null ? null : field.closest("form");
+        if (form == null) {
+            throw new NoSuchElementException("No form around " + input);
+        }
+        String action = form.hasAttr("action") ? form.absUrl("action") : currentUrl;
+        open(action + "?" + field.attr("name") + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+
+    // Run a script dependent action in a real browser on the current URL, then carry on from
+    // wherever the browser ended up once its URL has changed
+    public void inBrowser(Consumer<WebDriver> action) {
+        if (browser == null) {
+            browser = DriverPool.shared().acquire();
+        }
+        BROWSER_FALLBACKS.incrementAndGet();
+        String before = currentUrl;
+        browser.get(before);
+        action.accept(browser);
+        new WebDriverWait(browser, Duration.ofSeconds(10)).until(driver -> !before.equals(driver.getCurrentUrl()));
+        open(browser.getCurrentUrl());
+    }
+
+    // Give the fallback browser back to the pool
+    public void close() {
+        if (browser != null) {
+            DriverPool.shared().release(browser);
+            browser = null;
+        }
+    }
+
+    // Without layout the best guess is that served elements show unless they or a parent are hidden inline
+    static boolean isShown(Element element) {
+        for (Element at = element; at != null; at = at.parent()) {
+            String style = at.attr("style").replace(" ", "");
+            if (at.hasAttr("hidden") || style.contains("display:none") || style.contains("visibility:hidden")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void printStatistics() {
+        System.out.printf("Static pages: %d fetched, %d actions needed a browser%n",
+                FETCHES.get(), BROWSER_FALLBACKS.get());
+    }
+}
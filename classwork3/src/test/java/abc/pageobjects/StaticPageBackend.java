@@ -0,0 +1,67 @@
+package abc.pageobjects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.Select;
+
+// The page parsed without a browser: reads query the parsed DOM, links and forms are followed over
+// HTTP and only actions that need scripts borrow a browser
+class StaticPageBackend implements PageBackend {
+
+    private final StaticPage page;
+
+    StaticPageBackend(StaticPage page) {
+        this.page = page;
+    }
+
+    @Override
+    public List<Object> read(Query... queries) {
+        List<Object> results = new ArrayList<>();
+        for (Query query : queries) {
+            if (query.read() == Read.URL) {
+                results.add(page.getCurrentUrl());
+                continue;
+            }
+            Elements found = page.select(query.locator());
+            results.add(switch (query.read()) {
+                case TEXTS -> found.eachText();
+                case HREFS -> found.stream().map(StaticPageBackend::href).toList();
+                case COUNT -> found.size();
+                default -> !found.isEmpty() && StaticPage.isShown(found.first());
+            });
+        }
+        return results;
+    }
+
+    @Override
+    public void follow(By locator, int index) {
+        page.follow(locator, index);
+    }
+
+    // The served page has the input already, nothing needs opening
+    @Override
+    public void submit(By opener, By input, String value, By button) {
+        page.submit(input, value);
+    }
+
+    @Override
+    public void choose(By select, String option) {
+        page.inBrowser(browser -> new Select(browser.findElement(select)).selectByVisibleText(option));
+    }
+
+    // A parsed page is complete, it only has to have been served with the elements
+    @Override
+    public boolean waitFor(String stateName, By... locators) {
+        return Arrays.stream(locators).noneMatch(locator -> page.select(locator).isEmpty());
+    }
+
+    private static String href(Element element) {
+        Element link = element.hasAttr("href") ? element : element.selectFirst("a[href]");
+        return link == null ? "" : link.absUrl("href");
+    }
+}
@@ -0,0 +1,71 @@
+package abc.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Running estimate of how long each action (and a reset) takes in ms, kept in a properties
+// file between runs so the next run starts from what the last one measured
+public class ActionCosts {
+
+    private static final double WEIGHT = 0.3; // How much a new timing moves the estimate
+    private static final double UNKNOWN_MS = 1000; // Guess for an action nothing has been measured for yet
+
+    private final Path file;
+    private final Map<String, Double> estimates = new TreeMap<>();
+
+    private ActionCosts(Path file) {
+        this.file = file;
+    }
+
+    public static ActionCosts load(Path file) {
+        ActionCosts costs = new ActionCosts(file);
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                properties.forEach((action, ms) -> costs.estimates.put((String) action, Double.valueOf((String) ms)));
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Ignoring unreadable action costs " + file + ": " + e.getMessage());
+            }
+        }
+        return costs;
+    }
+
+    public synchronized void record(String action, long nanos) {
+        double ms = nanos / 1_000_000.0;
+        estimates.merge(action, ms, (old, now) -> old + WEIGHT * (now - old));
+    }
+
+    // Unmeasured actions are assumed to cost as much as the average measured one
+    public synchronized double estimate(String action) {
+        Double known = estimates.get(action);
+        if (known != null) {
+            return known;
+        }
+        return estimates.values().stream().mapToDouble(Double::doubleValue).average().orElse(UNKNOWN_MS);
+    }
+
+    public synchronized void print() {
+        System.out.println("Estimated action costs:");
+        estimates.forEach((action, ms) -> System.out.printf("  %s: %.0f ms%n", action, ms));
+    }
+
+    public synchronized void save() {
+        Properties properties = new Properties();
+        estimates.forEach((action, ms) -> properties.setProperty(action, String.valueOf(Math.round(ms * 10) / 10.0)));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "Running average action times in ms");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save action costs " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package abc.runner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.Model;
+import nz.ac.waikato.modeljunit.StopOnFailureListener;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Re-tests only what may have changed: every state is deep linked to once and fingerprinted, then only
+// transitions leaving or entering a state whose page structure differs from the last green run are
+// taken, each straight from a deep link to its source. Every fullEvery runs all transitions are taken.
+public class ChangeAwareRunner<M extends DeepLinkable> {
+
+    private final Supplier<? extends FsmModel> offlineFactory; // Models that never touch the browser
+    private final Supplier<M> modelFactory;
+    private final Function<M, String> fingerprint; // Structure of the page the model is on
+    private final FingerprintStore store;
+    private final int fullEvery;
+
+    // What a run found changed and what it took
+    public record Result(Set<Object> changedStates, List<Transition> taken, int transitions, boolean full) {
+
+        public void print() {
+            System.out.printf("%s run: %d/%d transitions taken, changed states %s%n",
+                    full ? "Full" : "Change aware", taken.size(), transitions, changedStates);
+        }
+    }
+
+    public ChangeAwareRunner(Supplier<? extends FsmModel> offlineFactory, Supplier<M> modelFactory,
+            Function<M, String> fingerprint, FingerprintStore store, int fullEvery) {
+        this.offlineFactory = offlineFactory;
+        this.modelFactory = modelFactory;
+        this.fingerprint = fingerprint;
+        this.store = store;
+        this.fullEvery = fullEvery;
+    }
+
+    // Probe, take the selected transitions and, if they all pass, store the new fingerprints
+    public Result run() {
+        ModelGraph graph = ModelGraph.explore(offlineFactory.get());
+        M fsm = modelFactory.get();
+        try {
+            Map<Object, String> current = new LinkedHashMap<>();
+            for (Object state : graph.getStates()) {
+                fsm.startFrom(state);
+                new Model(fsm); // Resets with testing on, landing on the state's page
+                current.put(state, fingerprint.apply(fsm));
+            }
+            Set<Object> changed = current.keySet().stream()
+                    .filter(state -> !Objects.equals(current.get(state), store.get(state)))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+
+            boolean full = store.getRunsSinceFull() + 1 >= fullEvery;
+            List<Transition> selected = new ArrayList<>();
+            for (Transition tr : graph.getTransitions()) {
+                if (full || changed.contains(tr.getStartState()) || changed.contains(tr.getEndState())) {
+                    selected.add(tr);
+                }
+            }
+
+            for (Transition tr : selected) {
+                fsm.startFrom(tr.getStartState());
+                Model model = new Model(fsm);
+                model.addListener(new StopOnFailureListener());
+                if (!model.doAction(model.getActionNumber(tr.getAction()))) {
+                    throw new IllegalStateException("Action " + tr.getAction() + " is not enabled in state "
+                            + model.getCurrentState());
+                }
+                if (!tr.getEndState().equals(model.getCurrentState())) {
+                    throw new IllegalStateException(tr + " ended in " + model.getCurrentState());
+                }
+            }
+
+            store.passed(current, full);
+            store.save();
+            return new Result(changed, selected, graph.getTransitions().size(), full);
+        } finally {
+            fsm.startFrom(graph.getInitialState());
+            Releasable.release(fsm);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package abc.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.Tester;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Walks towards the transition not yet taken that is cheapest to reach and take, where cost is the
+// measured time of each action rather than the number of steps. Timings are learned as it goes.
+public class CostAwareTester extends Tester {
+
+    private final ModelGraph graph;
+    private final ActionCosts costs;
+    private final Set<Transition> taken = new HashSet<>();
+
+    public CostAwareTester(FsmModel fsm, ModelGraph graph, ActionCosts costs) {
+        super(fsm);
+        this.graph = graph;
+        this.costs = costs;
+        model_.addListener(new CostLearner());
+    }
+
+    @Override
+    public String getName() {
+        return "Cost Aware Tester";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Takes the untested transition that is quickest to reach, using measured action times";
+    }
+
+    public boolean allTransitionsTaken() {
+        return taken.containsAll(graph.getTransitions());
+    }
+
+    // A reset is timed like any other action so it can be weighed against walking back
+    @Override
+    public void reset() {
+        long start = System.nanoTime();
+        super.reset();
+        costs.record(TourPlanner.RESET, System.nanoTime() - start);
+    }
+
+    @Override
+    public int generate() {
+        List<Transition> route = cheapestRoute(model_.getCurrentState());
+        if (route.isEmpty()) {
+            // Everything is covered, keep testing with the cheapest enabled action
+            route = List.of(cheapestEnabled(model_.getCurrentState()));
+        }
+
+        Transition next = route.get(0);
+        if (next.getAction().equals(TourPlanner.RESET)) {
+            reset();
+            return -1;
+        }
+        int action = model_.getActionNumber(next.getAction());
+        model_.doAction(action);
+        return action;
+    }
+
+    // Dijkstra over the state graph with resets as extra edges, then pick the untaken transition
+    // whose start is reached and which is taken for the least total estimated time
+    private List<Transition> cheapestRoute(Object from) {
+        Map<Object, Double> distance = new HashMap<>();
+        Map<Object, Transition> via = new HashMap<>();
+        PriorityQueue<Object[]> todo = new PriorityQueue<>((a, b) -> Double.compare((Double) a[1], (Double) b[1]));
+        distance.put(from, 0.0);
+        todo.add(new Object[] {from, 0.0});
+        while (!todo.isEmpty()) {
+            Object[] entry = todo.poll();
+            Object state = entry[0];
+            if ((Double) entry[1] > distance.get(state)) {
+                continue;
+            }
+            for (Transition edge : edgesFrom(state)) {
+                double through = distance.get(state) + costs.estimate(edge.getAction());
+                if (through < distance.getOrDefault(edge.getEndState(), Double.MAX_VALUE)) {
+                    distance.put(edge.getEndState(), through);
+                    via.put(edge.getEndState(), edge);
+                    todo.add(new Object[] {edge.getEndState(), through});
+                }
+            }
+        }
+
+        Transition best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (Transition transition : graph.getTransitions()) {
+            Double reach = distance.get(transition.getStartState());
+            if (taken.contains(transition) || reach == null) {
+                continue;
+            }
+            double cost = reach + costs.estimate(transition.getAction());
+            if (cost < bestCost) {
+                best = transition;
+                bestCost = cost;
+            }
+        }
+        if (best == null) {
+            return List.of();
+        }
+
+        List<Transition> route = new ArrayList<>();
+        route.add(best);
+        for (Object at = best.getStartState(); !at.equals(from); at = via.get(at).getStartState()) {
+            route.add(0, via.get(at));
+        }
+        return route;
+    }
+
+    private List<Transition> edgesFrom(Object state) {
+        List<Transition> edges = new ArrayList<>(graph.getTransitionsFrom(state));
+        if (!state.equals(graph.getInitialState())) {
+            edges.add(new Transition(state, TourPlanner.RESET, graph.getInitialState()));
+        }
+        return edges;
+    }
+
+    private Transition cheapestEnabled(Object state) {
+        Transition cheapest = null;
+        for (Transition edge : edgesFrom(state)) {
+            if (cheapest == null || costs.estimate(edge.getAction()) < costs.estimate(cheapest.getAction())) {
+                cheapest = edge;
+            }
+        }
+        return cheapest;
+    }
+
+    // Feeds the time of every action back into the estimates and remembers what has been covered
+    private class CostLearner extends AbstractListener {
+        private long actionStart;
+
+        @Override
+        public String getName() {
+            return "cost learner";
+        }
+
+        @Override
+        public void startAction(Object state, int action, String name) {
+            actionStart = System.nanoTime();
+        }
+
+        @Override
+        public void doneTransition(int action, Transition tr) {
+            costs.record(tr.getAction(), System.nanoTime() - actionStart);
+            taken.add(tr);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package abc.runner;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import nz.ac.waikato.modeljunit.coverage.CoverageMetric;
+
+public class CoverageReport {
+
+    // Merged hit counts per metric name, e.g. "transition coverage" -> {transition -> hits}
+    private final Map<String, Map<Object, Integer>> details = new LinkedHashMap<>();
+    private final Map<String, Integer> maximums = new HashMap<>();
+
+    // Fold the items covered by one walk into the report
+    public synchronized void merge(CoverageMetric metric) {
+        Map<Object, Integer> merged = details.computeIfAbsent(metric.getName(), name -> new HashMap<>());
+        metric.getDetails().forEach((item, hits) -> merged.merge(item, hits, Integer::sum));
+        maximums.merge(metric.getName(), metric.getMaximum(), Math::max);
+    }
+
+    // Number of distinct items that were hit at least once across every walk
+    public synchronized int getCoverage(String metricName) {
+        Map<Object, Integer> merged = details.getOrDefault(metricName, Map.of());
+        return (int) merged.values().stream().filter(hits -> hits > 0).count();
+    }
+
+    public synchronized int getMaximum(String metricName) {
+        // Fall back to what we have seen if the graph was never built
+        int maximum = maximums.getOrDefault(metricName, 0);
+        return maximum > 0 ? maximum : details.getOrDefault(metricName, Map.of()).size();
+    }
+
+    public synchronized void print() {
+        for (String metricName : details.keySet()) {
+            System.out.println("Merged " + metricName + " = "
+                    + getCoverage(metricName) + "/" + getMaximum(metricName));
+        }
+    }
+}
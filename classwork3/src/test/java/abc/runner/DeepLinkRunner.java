@@ -0,0 +1,67 @@
+package abc.runner;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.Model;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Tests every transition of the model on its own: a setup part brings the browser to the start
+// state, then only the transition under test is driven through the UI and timed separately
+public class DeepLinkRunner {
+
+    // Time spent getting into position versus time spent in the transitions being tested
+    public record Timing(String mode, int transitions, long setupNanos, long testedNanos) {
+
+        public void print() {
+            System.out.printf("%s: %d transitions, setup %d ms, tested %d ms%n",
+                    mode, transitions, setupNanos / 1_000_000, testedNanos / 1_000_000);
+        }
+    }
+
+    private final ModelGraph graph;
+    private final Supplier<? extends DeepLinkable> modelFactory;
+
+    public DeepLinkRunner(Supplier<? extends FsmModel> offlineFactory, Supplier<? extends DeepLinkable> modelFactory) {
+        this.graph = ModelGraph.explore(offlineFactory.get());
+        this.modelFactory = modelFactory;
+    }
+
+    // Reach each start state by deep link when asked, otherwise by replaying the shortest UI path from reset
+    public Timing run(boolean deepLink) {
+        DeepLinkable fsm = modelFactory.get();
+        List<Transition> transitions = graph.getTransitions();
+        long setupNanos = 0;
+        long testedNanos = 0;
+
+        try {
+            for (Transition transition : transitions) {
+                long start = System.nanoTime();
+                fsm.startFrom(deepLink ? transition.getStartState() : graph.getInitialState());
+                Model model = new Model(fsm); // Resets with testing on, so the browser is leased here
+                if (!deepLink) {
+                    for (String action : graph.getPathFromReset(transition.getStartState())) {
+                        model.doAction(model.getActionNumber(action));
+                    }
+                }
+                long tested = System.nanoTime();
+                setupNanos += tested - start;
+
+                if (!model.doAction(model.getActionNumber(transition.getAction()))) {
+                    throw new IllegalStateException(transition.getAction() + " is not enabled in "
+                            + model.getCurrentState());
+                }
+                testedNanos += System.nanoTime() - tested;
+
+                if (!model.getCurrentState().equals(transition.getEndState())) {
+                    throw new IllegalStateException("Expected " + transition + " but ended in "
+                            + model.getCurrentState());
+                }
+            }
+        } finally {
+            Releasable.release(fsm);
+        }
+        return new Timing(deepLink ? "Deep link setup" : "UI setup", transitions.size(), setupNanos, testedNanos);
+    }
+}
@@ -0,0 +1,11 @@
+package abc.runner;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+
+// A model that can land directly on one of its states when reset, by loading that state's URL
+// instead of driving the UI through the transitions that normally lead there
+public interface DeepLinkable extends FsmModel {
+
+    // Make the following resets start in the given state
+    void startFrom(Object state);
+}
@@ -0,0 +1,112 @@
+package abc.runner;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import nz.ac.waikato.modeljunit.Action;
+import nz.ac.waikato.modeljunit.FsmModel;
+
+// Calls the @Action methods and their ...Guard methods of an FsmModel through generated lambdas
+// instead of Method.invoke, so the JIT can inline each step like a hand written call.
+// Built once per model class, the same way ModelJUnit pairs actions and guards.
+public final class DirectDispatch {
+
+    private static final Map<Class<?>, DirectDispatch> CACHE = new ConcurrentHashMap<>();
+    private static final Predicate<Object> ALWAYS = fsm -> true;
+
+    private final String[] names;
+    private final Predicate<Object>[] guards;
+    private final Consumer<Object>[] actions;
+
+    private DirectDispatch(String[] names, Predicate<Object>[] guards, Consumer<Object>[] actions) {
+        this.names = names;
+        this.guards = guards;
+        this.actions = actions;
+    }
+
+    public static DirectDispatch of(Class<? extends FsmModel> type) {
+        return CACHE.computeIfAbsent(type, DirectDispatch::build);
+    }
+
+    public int getNumActions() {
+        return names.length;
+    }
+
+    public String getActionName(int action) {
+        return names[action];
+    }
+
+    public int getActionNumber(String name) {
+        return Arrays.asList(names).indexOf(name);
+    }
+
+    public boolean isEnabled(FsmModel fsm, int action) {
+        return guards[action].test(fsm);
+    }
+
+    public void doAction(FsmModel fsm, int action) {
+        actions[action].accept(fsm);
+    }
+
+    // Actions in name order, each with the guard called <action>Guard if the model has one
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static DirectDispatch build(Class<?> type) {
+        List<Method> actionMethods = Arrays.stream(type.getMethods())
+                .filter(method -> method.isAnnotationPresent(Action.class) && method.getParameterCount() == 0)
+                .sorted(Comparator.comparing(Method::getName))
+                .toList();
+
+        int count = actionMethods.size();
+        String[] names = new String[count];
+        Predicate<Object>[] guards = new Predicate[count];
+        Consumer<Object>[] actions = new Consumer[count];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (int i = 0; i < count; i++) {
+                Method action = actionMethods.get(i);
+                names[i] = action.getName();
+                actions[i] = consumer(lookup, type, lookup.unreflect(action));
+                Method guard = guardOf(type, action.getName());
+                guards[i] = guard == null ? ALWAYS : predicate(lookup, type, lookup.unreflect(guard));
+            }
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot build direct dispatch for " + type.getName(), e);
+        }
+        return new DirectDispatch(names, guards, actions);
+    }
+
+    private static Method guardOf(Class<?> type, String actionName) {
+        try {
+            Method guard = type.getMethod(actionName + "Guard");
+            return guard.getReturnType() == boolean.class ? guard : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object> consumer(MethodHandles.Lookup lookup, Class<?> type, MethodHandle target)
+            throws Throwable {
+        return (Consumer<Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(Consumer.class), MethodType.methodType(void.class, Object.class),
+                target, MethodType.methodType(void.class, type)).getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> predicate(MethodHandles.Lookup lookup, Class<?> type, MethodHandle target)
+            throws Throwable {
+        return (Predicate<Object>) LambdaMetafactory.metafactory(lookup, "test",
+                MethodType.methodType(Predicate.class), MethodType.methodType(boolean.class, Object.class),
+                target, MethodType.methodType(boolean.class, type)).getTarget().invokeExact();
+    }
+}
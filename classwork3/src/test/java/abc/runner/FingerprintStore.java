@@ -0,0 +1,74 @@
+package abc.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Structural fingerprint of each state's page as of the last green run, and how many runs ago
+// every transition was last exercised, kept in a properties file between runs
+public class FingerprintStore {
+
+    private static final String RUNS_SINCE_FULL = "runs.sinceFull";
+
+    private final Path file;
+    private final Map<String, String> fingerprints = new TreeMap<>();
+    private int runsSinceFull = Integer.MAX_VALUE / 2; // Nothing stored yet, so the first run is a full one
+
+    private FingerprintStore(Path file) {
+        this.file = file;
+    }
+
+    public static FingerprintStore load(Path file) {
+        FingerprintStore store = new FingerprintStore(file);
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                properties.forEach((key, value) -> {
+                    if (key.equals(RUNS_SINCE_FULL)) {
+                        store.runsSinceFull = Integer.parseInt((String) value);
+                    } else {
+                        store.fingerprints.put((String) key, (String) value);
+                    }
+                });
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Ignoring unreadable fingerprints " + file + ": " + e.getMessage());
+            }
+        }
+        return store;
+    }
+
+    // Fingerprint the state had on the last green run, null if it was never seen
+    public synchronized String get(Object state) {
+        return fingerprints.get(String.valueOf(state));
+    }
+
+    public synchronized int getRunsSinceFull() {
+        return runsSinceFull;
+    }
+
+    // Remember the pages of a green run, and whether it took every transition
+    public synchronized void passed(Map<Object, String> current, boolean full) {
+        current.forEach((state, fingerprint) -> fingerprints.put(String.valueOf(state), fingerprint));
+        runsSinceFull = full ? 0 : runsSinceFull + 1;
+    }
+
+    public synchronized void save() {
+        Properties properties = new Properties();
+        properties.putAll(fingerprints);
+        properties.setProperty(RUNS_SINCE_FULL, String.valueOf(runsSinceFull));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "Page structure per state as of the last green run");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save fingerprints " + file + ": " + e.getMessage());
+        }
+    }
+}
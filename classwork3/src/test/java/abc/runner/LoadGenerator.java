@@ -0,0 +1,189 @@
+package abc.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+
+import abc.metrics.LatencyHistogram;
+
+// Runs the model as many concurrent virtual users, one virtual thread each. Users arrive at a steady
+// random rate, walk the model offline and issue the request of every state they land in over plain
+// HTTP, pausing for a random think time in between. Only ever aimed at a server on this machine.
+public class LoadGenerator {
+
+    private final Supplier<? extends FsmModel> offlineFactory; // State tracking only, no browser
+    private final Function<Object, String> urlOf; // Request a user sends on landing in a state
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // "FROM --action--> TO" -> latency of its request in microseconds
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger peakUsers = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private long elapsedNanos;
+
+    public LoadGenerator(Supplier<? extends FsmModel> offlineFactory, Function<Object, String> urlOf) {
+        this.offlineFactory = offlineFactory;
+        this.urlOf = urlOf;
+    }
+
+    // Let users arrive at arrivalsPerSecond until all of them have started, each walking the given number
+    // of steps with a think time averaging thinkMillis, and wait for the last one to finish
+    public void run(int users, double arrivalsPerSecond, int stepsPerUser, long thinkMillis, long seed) {
+        requireLocal(urlOf.apply(offlineFactory.get().getState()));
+        Random arrivals = new Random(seed);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long arriveAt = start;
+            for (int user = 0; user < users; user++) {
+                // Exponential gaps between arrivals make them a Poisson process
+                arriveAt += (long) (-Math.log(1 - arrivals.nextDouble()) / arrivalsPerSecond * 1e9);
+                sleepNanos(arriveAt - System.nanoTime());
+                long userSeed = seed + user + 1;
+                executor.submit(() -> user(userSeed, stepsPerUser, thinkMillis));
+            }
+        } // Closing the executor waits for every user to leave
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    // Throughput and percentiles per transition, then over all requests
+    public void print() {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Load: %d requests in %.1f s (%.1f/s), %d users at peak, %d errors%n",
+                requests.get(), seconds, requests.get() / seconds, peakUsers.get(), getErrors());
+        new TreeMap<>(latencies).forEach((transition, histogram) -> System.out.printf(
+                "  %-60s %6d req %8.1f/s  p50 %6.1f  p95 %6.1f  p99 %6.1f  max %6.1f ms  %d errors%n",
+                transition, histogram.getCount(), histogram.getCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getMax() / 1000.0,
+                errorsOf(transition)));
+    }
+
+    // Write load.csv with one row per transition into the given directory
+    public void export(Path directory) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder csv = new StringBuilder("transition,requests,errors,per_second,p50_us,p95_us,p99_us,max_us\n");
+        new TreeMap<>(latencies).forEach((transition, histogram) -> csv.append(String.format(
+                "\"%s\",%d,%d,%.2f,%d,%d,%d,%d%n", transition, histogram.getCount(), errorsOf(transition),
+                histogram.getCount() / seconds, histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(95), histogram.getValueAtPercentile(99), histogram.getMax())));
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("load.csv"), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export load results to " + directory, e);
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public int getErrors() {
+        return errors.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    // One virtual user: a fresh offline model walked at random, requesting every state it lands in
+    private void user(long userSeed, int steps, long thinkMillis) {
+        peakUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max);
+        try {
+            Random random = new Random(userSeed);
+            FsmModel model = offlineFactory.get();
+            DirectDispatch dispatch = DirectDispatch.of(model.getClass());
+            model.reset(false);
+            request("reset", model.getState());
+            for (int step = 0; step < steps; step++) {
+                sleepNanos((long) (-Math.log(1 - random.nextDouble()) * thinkMillis * 1_000_000));
+                List<Integer> enabled = new ArrayList<>();
+                for (int action = 0; action < dispatch.getNumActions(); action++) {
+                    if (dispatch.isEnabled(model, action)) {
+                        enabled.add(action);
+                    }
+                }
+                if (enabled.isEmpty()) {
+                    return;
+                }
+                int action = enabled.get(random.nextInt(enabled.size()));
+                Object from = model.getState();
+                dispatch.doAction(model, action);
+                request(from + " --" + dispatch.getActionName(action) + "--> " + model.getState(), model.getState());
+            }
+        } finally {
+            activeUsers.decrementAndGet();
+        }
+    }
+
+    private void request(String transition, Object state) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(urlOf.apply(state)))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.computeIfAbsent(transition, t -> new AtomicInteger()).incrementAndGet();
+            }
+        } catch (IOException e) {
+            errors.computeIfAbsent(transition, t -> new AtomicInteger()).incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        latencies.computeIfAbsent(transition, t -> new LatencyHistogram())
+                .record((System.nanoTime() - start) / 1000);
+        requests.incrementAndGet();
+    }
+
+    private int errorsOf(String transition) {
+        AtomicInteger count = errors.get(transition);
+        return count == null ? 0 : count.get();
+    }
+
+    // Load is only ever generated against the local stand-in server, never a real site
+    public static void requireLocal(String url) {
+        String host = URI.create(url).getHost();
+        if (!"localhost".equals(host) && !"127.0.0.1".equals(host) && !"[::1]".equals(host)) {
+            throw new IllegalStateException("Refusing to generate load against " + host
+                    + ", run with -Dabc.offline=true to use the local fixture server");
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package abc.runner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.Transition;
+
+// The state graph of an FsmModel, found by exploring it with testing switched off
+public class ModelGraph {
+
+    private final Object initialState;
+    private final List<Object> states;
+    private final List<Transition> transitions;
+    private final Map<Object, List<String>> pathFromReset; // Shortest action sequence reaching each state
+
+    private ModelGraph(Object initialState, List<Object> states, List<Transition> transitions,
+            Map<Object, List<String>> pathFromReset) {
+        this.initialState = initialState;
+        this.states = List.copyOf(states);
+        this.transitions = List.copyOf(transitions);
+        this.pathFromReset = pathFromReset;
+    }
+
+    // Breadth first search over every state reachable from reset, calling reset(false) so no browser is used
+    public static ModelGraph explore(FsmModel fsm) {
+        DirectDispatch dispatch = DirectDispatch.of(fsm.getClass());
+        fsm.reset(false);
+        Object initial = fsm.getState();
+
+        Map<Object, List<String>> pathFromReset = new LinkedHashMap<>();
+        List<Transition> transitions = new ArrayList<>();
+        Deque<Object> todo = new ArrayDeque<>();
+        pathFromReset.put(initial, List.of());
+        todo.add(initial);
+
+        while (!todo.isEmpty()) {
+            Object state = todo.poll();
+            List<String> path = pathFromReset.get(state);
+            for (int action = 0; action < dispatch.getNumActions(); action++) {
+                replay(fsm, dispatch, path);
+                if (!dispatch.isEnabled(fsm, action)) {
+                    continue;
+                }
+                dispatch.doAction(fsm, action);
+                Object target = fsm.getState();
+                String name = dispatch.getActionName(action);
+                transitions.add(new Transition(state, name, target));
+
+                if (!pathFromReset.containsKey(target)) {
+                    List<String> longer = new ArrayList<>(path);
+                    longer.add(name);
+                    pathFromReset.put(target, List.copyOf(longer));
+                    todo.add(target);
+                }
+            }
+        }
+        return new ModelGraph(initial, new ArrayList<>(pathFromReset.keySet()), transitions, pathFromReset);
+    }
+
+    private static void replay(FsmModel fsm, DirectDispatch dispatch, List<String> path) {
+        fsm.reset(false);
+        for (String name : path) {
+            dispatch.doAction(fsm, dispatch.getActionNumber(name));
+        }
+    }
+
+    public Object getInitialState() {
+        return initialState;
+    }
+
+    public List<Object> getStates() {
+        return states;
+    }
+
+    public List<Transition> getTransitions() {
+        return transitions;
+    }
+
+    public List<Transition> getTransitionsFrom(Object state) {
+        return transitions.stream().filter(tr -> tr.getStartState().equals(state)).toList();
+    }
+
+    public List<String> getPathFromReset(Object state) {
+        return pathFromReset.get(state);
+    }
+}
@@ -0,0 +1,95 @@
+package abc.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.GreedyTester;
+import nz.ac.waikato.modeljunit.StopOnFailureListener;
+import nz.ac.waikato.modeljunit.Tester;
+import nz.ac.waikato.modeljunit.VerboseListener;
+import nz.ac.waikato.modeljunit.coverage.ActionCoverage;
+import nz.ac.waikato.modeljunit.coverage.CoverageMetric;
+import nz.ac.waikato.modeljunit.coverage.StateCoverage;
+import nz.ac.waikato.modeljunit.coverage.TransitionCoverage;
+
+import abc.driver.DriverPool;
+
+public class ParallelModelRunner {
+
+    private final Supplier<? extends FsmModel> modelFactory; // Creates one independent model per walk
+    private final int workers; // Number of walks running at the same time
+    private final long seed; // Base seed, walk i uses seed + i
+
+    public ParallelModelRunner(Supplier<? extends FsmModel> modelFactory, int workers, long seed) {
+        this.modelFactory = modelFactory;
+        this.workers = workers;
+        this.seed = seed;
+    }
+
+    // Split the step budget over the workers and merge their coverage into one report
+    public CoverageReport run(int totalSteps) {
+        // Launch every browser up front so the walks start together
+        DriverPool.shared().warmUp(workers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CoverageReport report = new CoverageReport();
+        try {
+            List<Future<List<CoverageMetric>>> walks = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                // Hand the remainder out one step at a time so the slices add up to the budget
+                int steps = totalSteps / workers + (i < totalSteps % workers ? 1 : 0);
+                long walkSeed = seed + i;
+                walks.add(executor.submit(() -> walk(walkSeed, steps)));
+            }
+
+            for (Future<List<CoverageMetric>> walk : walks) {
+                walk.get().forEach(report::merge);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for model walks", e);
+        } catch (ExecutionException e) {
+            // Surface the first failing walk as if it ran on the calling thread
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException("Model walk failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    // One seeded GreedyTester walk over its own model instance and browser
+    private List<CoverageMetric> walk(long walkSeed, int steps) {
+        FsmModel model = modelFactory.get();
+        Tester tester = new GreedyTester(model);
+        tester.setRandom(new Random(walkSeed));
+        tester.buildGraph();
+
+        tester.addListener(new VerboseListener());
+        tester.addListener(new StopOnFailureListener());
+
+        List<CoverageMetric> metrics = List.of(
+                tester.addCoverageMetric(new TransitionCoverage()),
+                tester.addCoverageMetric(new StateCoverage()),
+                tester.addCoverageMetric(new ActionCoverage()));
+
+        try {
+            tester.generate(steps);
+        } finally {
+            Releasable.release(model);
+        }
+        return metrics;
+    }
+}
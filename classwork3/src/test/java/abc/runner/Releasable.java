@@ -0,0 +1,16 @@
+package abc.runner;
+
+// A model that holds on to something outside the JVM between resets, e.g. a browser leased from the
+// pool, which runners hand back as soon as they are done with the model
+public interface Releasable {
+
+    // Give back what the model holds, the next reset leases it again
+    void release();
+
+    // Release the model if it holds anything, offline and plain models are left alone
+    static void release(Object model) {
+        if (model instanceof Releasable releasable) {
+            releasable.release();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package abc.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nz.ac.waikato.modeljunit.Transition;
+
+// Expands a model graph into independent action sequences that each start from reset and can run
+// in any order on any thread. Every transition ends one sequence: the shortest path to its start
+// state followed by the transition itself, dropping sequences that another one already begins with.
+public final class SequenceGenerator {
+
+    private SequenceGenerator() {
+    }
+
+    public static List<List<String>> expand(ModelGraph graph) {
+        List<List<String>> candidates = new ArrayList<>();
+        for (Transition tr : graph.getTransitions()) {
+            List<String> sequence = new ArrayList<>(graph.getPathFromReset(tr.getStartState()));
+            sequence.add(tr.getAction());
+            candidates.add(List.copyOf(sequence));
+        }
+
+        List<List<String>> sequences = new ArrayList<>();
+        for (List<String> sequence : candidates) {
+            boolean covered = candidates.stream().anyMatch(other -> other.size() > sequence.size()
+                    && other.subList(0, sequence.size()).equals(sequence));
+            if (!covered) {
+                sequences.add(sequence);
+            }
+        }
+        return sequences;
+    }
+}
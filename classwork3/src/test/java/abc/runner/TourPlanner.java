@@ -0,0 +1,287 @@
+package abc.runner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.GreedyTester;
+import nz.ac.waikato.modeljunit.Model;
+import nz.ac.waikato.modeljunit.StopOnFailureListener;
+import nz.ac.waikato.modeljunit.Tester;
+import nz.ac.waikato.modeljunit.Transition;
+import nz.ac.waikato.modeljunit.VerboseListener;
+import nz.ac.waikato.modeljunit.coverage.ActionCoverage;
+import nz.ac.waikato.modeljunit.coverage.CoverageMetric;
+import nz.ac.waikato.modeljunit.coverage.StateCoverage;
+import nz.ac.waikato.modeljunit.coverage.TransitionCoverage;
+
+// Plans a walk that takes every transition of the model at least once in as few steps as possible
+// (a directed Chinese postman tour), then runs that walk against the real browser
+public class TourPlanner {
+
+    public static final String RESET = "reset"; // Pseudo action that sends the model back to its initial state
+
+    private static final int INFINITY = Integer.MAX_VALUE / 4;
+
+    private final Supplier<? extends FsmModel> offlineFactory; // Models that never touch the browser
+    private final Supplier<? extends FsmModel> modelFactory;
+    private final ModelGraph graph;
+
+    public TourPlanner(Supplier<? extends FsmModel> offlineFactory, Supplier<? extends FsmModel> modelFactory) {
+        this.offlineFactory = offlineFactory;
+        this.modelFactory = modelFactory;
+        this.graph = ModelGraph.explore(offlineFactory.get());
+    }
+
+    public ModelGraph getGraph() {
+        return graph;
+    }
+
+    // Shortest walk from reset covering every transition. A reset counts as one step and is only
+    // planned where no cheaper way back through the model exists.
+    public List<Transition> plan() {
+        List<Object> states = graph.getStates();
+        int n = states.size();
+        int initial = states.indexOf(graph.getInitialState());
+
+        // Every transition must be taken, a reset from anywhere may be added to rebalance the graph
+        List<Transition> extraEdges = new ArrayList<>(graph.getTransitions());
+        for (Object state : states) {
+            extraEdges.add(new Transition(state, RESET, graph.getInitialState()));
+        }
+        List<Transition>[][] paths = shortestPaths(states, extraEdges);
+
+        // In an Euler circuit every state is left as often as it is entered
+        int[] balance = new int[n];
+        for (Transition tr : graph.getTransitions()) {
+            balance[states.indexOf(tr.getEndState())]++;
+            balance[states.indexOf(tr.getStartState())]--;
+        }
+
+        // Duplicate the cheapest set of paths from states entered too often to states left too often
+        List<Transition> edges = new ArrayList<>(graph.getTransitions());
+        int[][] flow = minCostTransport(balance, paths);
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                for (int copy = 0; copy < flow[from][to]; copy++) {
+                    edges.addAll(paths[from][to]);
+                }
+            }
+        }
+
+        List<Transition> circuit = eulerCircuit(states, edges, initial);
+
+        // The circuit ends back at the start, stop as soon as the last new transition is taken
+        Set<Transition> remaining = new HashSet<>(graph.getTransitions());
+        List<Transition> tour = new ArrayList<>();
+        for (Transition step : circuit) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            tour.add(step);
+            remaining.remove(step);
+        }
+        return tour;
+    }
+
+    // Average number of steps a seeded GreedyTester needs for full transition coverage, run offline
+    public double averageRandomWalkLength(int walks, long seed) {
+        long totalSteps = 0;
+        for (int walk = 0; walk < walks; walk++) {
+            Tester tester = new GreedyTester(offlineFactory.get());
+            tester.setRandom(new Random(seed + walk));
+            tester.buildGraph();
+            CoverageMetric transitions = tester.addCoverageMetric(new TransitionCoverage());
+
+            Model model = tester.getModel();
+            model.setTesting(false);
+            tester.reset();
+            int steps = 0;
+            while (transitions.getCoverage() < transitions.getMaximum() && steps < 100_000) {
+                tester.generate();
+                steps++;
+            }
+            totalSteps += steps;
+        }
+        return (double) totalSteps / walks;
+    }
+
+    // Drive a fresh model through the planned tour with the browser attached
+    public CoverageReport run(List<Transition> tour) {
+        FsmModel fsm = modelFactory.get();
+        Tester tester = new GreedyTester(fsm);
+        tester.buildGraph();
+        tester.addListener(new VerboseListener());
+        tester.addListener(new StopOnFailureListener());
+        List<CoverageMetric> metrics = List.of(
+                tester.addCoverageMetric(new TransitionCoverage()),
+                tester.addCoverageMetric(new StateCoverage()),
+                tester.addCoverageMetric(new ActionCoverage()));
+
+        Model model = tester.getModel();
+        model.setTesting(true);
+        try {
+            model.doReset("tour");
+            for (Transition step : tour) {
+                if (step.getAction().equals(RESET)) {
+                    model.doReset("tour");
+                } else if (!model.doAction(model.getActionNumber(step.getAction()))) {
+                    throw new IllegalStateException("Planned action " + step.getAction()
+                            + " is not enabled in state " + model.getCurrentState());
+                }
+            }
+        } finally {
+            Releasable.release(fsm);
+        }
+
+        CoverageReport report = new CoverageReport();
+        metrics.forEach(report::merge);
+        return report;
+    }
+
+    // Breadth first shortest paths between every pair of states, every edge costs one step
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Transition>[][] shortestPaths(List<Object> states, List<Transition> edges) {
+        int n = states.size();
+        List<Transition>[][] paths = new List[n][n];
+        for (int source = 0; source < n; source++) {
+            Transition[] via = new Transition[n];
+            boolean[] seen = new boolean[n];
+            Deque<Integer> todo = new ArrayDeque<>();
+            seen[source] = true;
+            todo.add(source);
+            while (!todo.isEmpty()) {
+                int state = todo.poll();
+                for (Transition edge : edges) {
+                    int target = states.indexOf(edge.getEndState());
+                    if (states.indexOf(edge.getStartState()) == state && !seen[target]) {
+                        seen[target] = true;
+                        via[target] = edge;
+                        todo.add(target);
+                    }
+                }
+            }
+            for (int target = 0; target < n; target++) {
+                if (!seen[target]) {
+                    continue;
+                }
+                Deque<Transition> path = new ArrayDeque<>();
+                for (int at = target; at != source; at = states.indexOf(via[at].getStartState())) {
+                    path.addFirst(via[at]);
+                }
+                paths[source][target] = new ArrayList<>(path);
+            }
+        }
+        return paths;
+    }
+
+    // Min cost flow (successive shortest paths) shipping the surplus of each over-entered state
+    // to the under-entered ones, where shipping one unit costs the length of the path between them
+    private static int[][] minCostTransport(int[] balance, List<Transition>[][] paths) {
+        int n = balance.length;
+        int source = 2 * n;
+        int sink = 2 * n + 1;
+        int nodes = 2 * n + 2;
+        int[][] capacity = new int[nodes][nodes];
+        int[][] cost = new int[nodes][nodes];
+
+        for (int state = 0; state < n; state++) {
+            if (balance[state] > 0) {
+                capacity[source][state] = balance[state];
+            } else if (balance[state] < 0) {
+                capacity[n + state][sink] = -balance[state];
+            }
+            for (int other = 0; other < n; other++) {
+                if (paths[state][other] != null) {
+                    capacity[state][n + other] = INFINITY;
+                    cost[state][n + other] = paths[state][other].size();
+                    cost[n + other][state] = -paths[state][other].size();
+                }
+            }
+        }
+
+        int[][] flow = new int[nodes][nodes];
+        while (true) {
+            // Bellman-Ford, residual edges may have negative cost
+            int[] distance = new int[nodes];
+            int[] previous = new int[nodes];
+            Arrays.fill(distance, INFINITY);
+            Arrays.fill(previous, -1);
+            distance[source] = 0;
+            for (int round = 0; round < nodes; round++) {
+                boolean changed = false;
+                for (int u = 0; u < nodes; u++) {
+                    if (distance[u] == INFINITY) {
+                        continue;
+                    }
+                    for (int v = 0; v < nodes; v++) {
+                        if (capacity[u][v] - flow[u][v] > 0 && distance[u] + cost[u][v] < distance[v]) {
+                            distance[v] = distance[u] + cost[u][v];
+                            previous[v] = u;
+                            changed = true;
+                        }
+                    }
+                }
+                if (!changed) {
+                    break;
+                }
+            }
+            if (distance[sink] == INFINITY) {
+                break;
+            }
+
+            int push = INFINITY;
+            for (int v = sink; v != source; v = previous[v]) {
+                push = Math.min(push, capacity[previous[v]][v] - flow[previous[v]][v]);
+            }
+            for (int v = sink; v != source; v = previous[v]) {
+                flow[previous[v]][v] += push;
+                flow[v][previous[v]] -= push;
+            }
+        }
+
+        int[][] shipped = new int[n][n];
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                shipped[from][to] = Math.max(0, flow[from][n + to]);
+            }
+        }
+        return shipped;
+    }
+
+    // Hierholzer's algorithm over the balanced multigraph, starting and ending at the initial state
+    private static List<Transition> eulerCircuit(List<Object> states, List<Transition> edges, int initial) {
+        List<Deque<Transition>> unused = new ArrayList<>();
+        for (int i = 0; i < states.size(); i++) {
+            unused.add(new ArrayDeque<>());
+        }
+        for (Transition edge : edges) {
+            unused.get(states.indexOf(edge.getStartState())).add(edge);
+        }
+
+        Deque<Transition> circuit = new ArrayDeque<>();
+        Deque<Transition> trail = new ArrayDeque<>();
+        int at = initial;
+        while (true) {
+            Transition next = unused.get(at).poll();
+            if (next != null) {
+                trail.push(next);
+                at = states.indexOf(next.getEndState());
+            } else if (!trail.isEmpty()) {
+                Transition back = trail.pop();
+                circuit.addFirst(back);
+                at = states.indexOf(back.getStartState());
+            } else {
+                break;
+            }
+        }
+        return new ArrayList<>(circuit);
+    }
+}
@@ -0,0 +1,48 @@
+package abc.runner;
+
+import nz.ac.waikato.modeljunit.AbstractListener;
+import nz.ac.waikato.modeljunit.TestFailureException;
+import nz.ac.waikato.modeljunit.Transition;
+
+// Writes down every reset and transition of a walk, with timings, so it can be replayed later
+public class TraceRecorder extends AbstractListener {
+
+    private final WalkTrace trace;
+    private long actionStart;
+
+    public TraceRecorder(long seed) {
+        trace = new WalkTrace(seed);
+    }
+
+    @Override
+    public String getName() {
+        return "trace";
+    }
+
+    public WalkTrace getTrace() {
+        return trace;
+    }
+
+    @Override
+    public void doneReset(String reason, boolean testing) {
+        String initial = String.valueOf(getModel().getCurrentState());
+        trace.addStep(new WalkTrace.Step(TourPlanner.RESET, initial, initial, 0));
+    }
+
+    @Override
+    public void startAction(Object state, int action, String name) {
+        actionStart = System.nanoTime();
+    }
+
+    @Override
+    public void doneTransition(int action, Transition tr) {
+        trace.addStep(new WalkTrace.Step(tr.getAction(), String.valueOf(tr.getStartState()),
+                String.valueOf(tr.getEndState()), (System.nanoTime() - actionStart) / 1000));
+    }
+
+    @Override
+    public void failure(TestFailureException failure) {
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        trace.setFailure(failure.getActionName(), String.valueOf(failure.getState()), String.valueOf(cause));
+    }
+}
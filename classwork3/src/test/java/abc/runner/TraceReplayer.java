@@ -0,0 +1,154 @@
+package abc.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.Model;
+import nz.ac.waikato.modeljunit.StopOnFailureListener;
+import nz.ac.waikato.modeljunit.TestFailureException;
+
+// Re-runs recorded walks step by step and shrinks failing ones with delta debugging
+public class TraceReplayer {
+
+    private final Supplier<? extends FsmModel> offlineFactory; // Checks candidate sequences without a browser
+    private final Supplier<? extends FsmModel> modelFactory;
+    private final Map<List<String>, Boolean> outcomes = new HashMap<>(); // Sequences already run in the browser
+    private int browserRuns;
+
+    public TraceReplayer(Supplier<? extends FsmModel> offlineFactory, Supplier<? extends FsmModel> modelFactory) {
+        this.offlineFactory = offlineFactory;
+        this.modelFactory = modelFactory;
+    }
+
+    public int getBrowserRuns() {
+        return browserRuns;
+    }
+
+    // Run the trace again from a reset, failing if the model ends up anywhere the recording did not.
+    // Returns the failure the replay hit, or null if it passed.
+    public TestFailureException replay(WalkTrace trace) {
+        Model model = browserModel();
+        try {
+            for (WalkTrace.Step step : trace.getSteps()) {
+                run(model, step.action());
+                if (!String.valueOf(model.getCurrentState()).equals(step.to())) {
+                    throw new IllegalStateException("Replay diverged at " + step.action() + ": recorded "
+                            + step.to() + ", got " + model.getCurrentState());
+                }
+            }
+            if (trace.hasFailed()) {
+                run(model, trace.getFailedAction());
+            }
+        } catch (TestFailureException e) {
+            return e;
+        } finally {
+            Releasable.release(model.getModel());
+        }
+        return null;
+    }
+
+    // Delta debugging (ddmin): drop ever smaller chunks of the sequence for as long as
+    // what is left still fails in the same action. Sequences the guards reject are skipped offline.
+    public WalkTrace minimize(WalkTrace trace) {
+        String failedAction = trace.getFailedAction();
+        List<String> current = trace.actions();
+        int chunks = 2;
+        while (current.size() >= 2) {
+            int chunkSize = (current.size() + chunks - 1) / chunks;
+            boolean reduced = false;
+            for (int start = 0; start < current.size() && !reduced; start += chunkSize) {
+                int end = Math.min(current.size(), start + chunkSize);
+                List<String> subset = new ArrayList<>(current.subList(start, end));
+                List<String> complement = new ArrayList<>(current.subList(0, start));
+                complement.addAll(current.subList(end, current.size()));
+
+                if (fails(subset, failedAction)) {
+                    current = subset;
+                    chunks = 2;
+                    reduced = true;
+                } else if (chunks > 2 && fails(complement, failedAction)) {
+                    current = complement;
+                    chunks = Math.max(chunks - 1, 2);
+                    reduced = true;
+                }
+            }
+            if (!reduced) {
+                if (chunks >= current.size()) {
+                    break;
+                }
+                chunks = Math.min(current.size(), chunks * 2);
+            }
+        }
+        return offlineTrace(trace, current.subList(0, current.size() - 1));
+    }
+
+    // A trace of the given steps with the states filled in by the state machine, ending in the original failure
+    private WalkTrace offlineTrace(WalkTrace original, List<String> actions) {
+        Model model = new Model(offlineFactory.get());
+        model.setTesting(false);
+        model.doReset("check");
+        WalkTrace trace = new WalkTrace(original.getSeed());
+        for (String action : actions) {
+            String from = String.valueOf(model.getCurrentState());
+            run(model, action);
+            trace.addStep(new WalkTrace.Step(action, from, String.valueOf(model.getCurrentState()), 0));
+        }
+        trace.setFailure(original.getFailedAction(), String.valueOf(model.getCurrentState()), original.getFailure());
+        return trace;
+    }
+
+    private boolean fails(List<String> actions, String failedAction) {
+        if (actions.isEmpty() || !actions.get(actions.size() - 1).equals(failedAction) || !isValid(actions)) {
+            return false;
+        }
+        return outcomes.computeIfAbsent(List.copyOf(actions), sequence -> {
+            browserRuns++;
+            Model model = browserModel();
+            try {
+                for (String action : sequence) {
+                    run(model, action);
+                }
+                return false;
+            } catch (TestFailureException e) {
+                return failedAction.equals(e.getActionName());
+            } finally {
+                Releasable.release(model.getModel()); // Every candidate would otherwise keep its browser
+            }
+        });
+    }
+
+    // Every action must be enabled where it is taken, which only needs the state machine
+    private boolean isValid(List<String> actions) {
+        Model model = new Model(offlineFactory.get());
+        model.setTesting(false);
+        model.doReset("check");
+        for (String action : actions) {
+            if (action.equals(TourPlanner.RESET)) {
+                model.doReset("check");
+            } else if (!model.isEnabled(model.getActionNumber(action))) {
+                return false;
+            } else {
+                model.doAction(model.getActionNumber(action));
+            }
+        }
+        return true;
+    }
+
+    private Model browserModel() {
+        Model model = new Model(modelFactory.get()); // Resets with testing on, leasing a browser
+        model.addListener(new StopOnFailureListener());
+        return model;
+    }
+
+    private static void run(Model model, String action) {
+        if (action.equals(TourPlanner.RESET)) {
+            model.doReset("replay");
+        } else if (!model.doAction(model.getActionNumber(action))) {
+            throw new IllegalStateException(action + " is not enabled in " + model.getCurrentState());
+        }
+    }
+}
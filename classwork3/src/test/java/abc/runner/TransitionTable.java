@@ -0,0 +1,51 @@
+package abc.runner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import nz.ac.waikato.modeljunit.Transition;
+
+// The explored graph flattened into arrays: next[state][action] is the target state number,
+// or -1 where the guard is false. Walking it needs no calls into the model at all.
+public final class TransitionTable {
+
+    private final List<Object> states;
+    private final int initialState;
+    private final String[] actions;
+    private final int[][] next;
+
+    public TransitionTable(ModelGraph graph, DirectDispatch dispatch) {
+        states = graph.getStates();
+        initialState = states.indexOf(graph.getInitialState());
+        actions = new String[dispatch.getNumActions()];
+        Arrays.setAll(actions, dispatch::getActionName);
+        next = new int[states.size()][actions.length];
+        for (int[] row : next) {
+            Arrays.fill(row, -1);
+        }
+        for (Transition tr : graph.getTransitions()) {
+            next[states.indexOf(tr.getStartState())][dispatch.getActionNumber(tr.getAction())] =
+                    states.indexOf(tr.getEndState());
+        }
+    }
+
+    public int getInitialState() {
+        return initialState;
+    }
+
+    public int getNumActions() {
+        return actions.length;
+    }
+
+    public int next(int state, int action) {
+        return next[state][action];
+    }
+
+    public Object getState(int state) {
+        return states.get(state);
+    }
+
+    public String getActionName(int action) {
+        return actions[action];
+    }
+}
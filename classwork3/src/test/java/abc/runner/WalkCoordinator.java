@@ -0,0 +1,321 @@
+package abc.runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.GreedyTester;
+import nz.ac.waikato.modeljunit.Model;
+import nz.ac.waikato.modeljunit.Tester;
+import nz.ac.waikato.modeljunit.Transition;
+import nz.ac.waikato.modeljunit.coverage.ActionCoverage;
+import nz.ac.waikato.modeljunit.coverage.CoverageMetric;
+import nz.ac.waikato.modeljunit.coverage.StateCoverage;
+import nz.ac.waikato.modeljunit.coverage.TransitionCoverage;
+
+// Hands walk segments over untaken transitions to WalkWorker processes on this machine and merges what
+// they report into one coverage report. Line based protocol over a localhost socket:
+//   worker: READY                      coordinator: WALK <action> <action> ... | BYE
+//   worker: STEP <action> | FAIL <action> <message>, then DONE
+// Every walk starts from reset. A worker that disconnects mid walk gives its transitions back, so a
+// worker asking for work while everything left is assigned waits for the outcome instead of leaving.
+public class WalkCoordinator implements AutoCloseable {
+
+    private static final int MAX_SEGMENT = 10; // Transitions chained onto one walk after its first target
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(10); // For workers to hang up or exit
+
+    private final Supplier<? extends FsmModel> offlineFactory; // Mirrors of the worker walks, no browser
+    private final ModelGraph graph;
+    private final ServerSocket server;
+    private final CoverageReport report = new CoverageReport();
+
+    private final Set<Transition> remaining; // Not taken by any worker yet
+    private final Set<Transition> assigned = new HashSet<>(); // Handed out in a walk still running
+    private final List<String> failures = new ArrayList<>();
+    private final Set<String> failedSteps = new HashSet<>(); // "STATE action" that failed in some walk
+    private int walks;
+
+    public WalkCoordinator(Supplier<? extends FsmModel> offlineFactory, int port) {
+        this.offlineFactory = offlineFactory;
+        this.graph = ModelGraph.explore(offlineFactory.get());
+        this.remaining = new LinkedHashSet<>(graph.getTransitions());
+        try {
+            this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to listen for walk workers on port " + port, e);
+        }
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    // Serve workers until every transition has been taken or failed, or the timeout runs out
+    public CoverageReport run(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.submit(() -> serve(socket));
+                } catch (IOException e) {
+                    return; // Closed once the work is done
+                }
+            }
+        });
+        try {
+            synchronized (this) {
+                while (!remaining.isEmpty() || !assigned.isEmpty()) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        throw new IllegalStateException("Walk workers left " + remaining.size()
+                                + " transitions untaken within " + timeout);
+                    }
+                    wait(Math.max(1, left / 1_000_000));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for walk workers", e);
+        } finally {
+            close();
+            acceptor.interrupt();
+            stop(connections);
+        }
+        return report;
+    }
+
+    // Give each worker the chance to read its BYE and hang up, then cut off any connection still
+    // stuck, e.g. a worker whose browser hangs, so a timed out run does not hang with it
+    private static void stop(ExecutorService connections) {
+        connections.shutdown();
+        try {
+            if (!connections.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+                connections.shutdownNow(); // Interrupting a virtual thread closes the socket it reads from
+            }
+        } catch (InterruptedException e) {
+            connections.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Ask worker JVMs to exit so their shutdown hooks quit the browsers, killing any that do not in time
+    public static void stopWorkers(List<Process> processes) {
+        processes.forEach(Process::destroy);
+        long deadline = System.nanoTime() + SHUTDOWN_GRACE.toNanos();
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public synchronized List<String> getFailures() {
+        return List.copyOf(failures);
+    }
+
+    public synchronized int getWalks() {
+        return walks;
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Nothing left to serve either way
+        }
+        synchronized (this) {
+            notifyAll(); // Workers waiting for work get their BYE
+        }
+    }
+
+    // One worker connection: a mirror model replays its steps so coverage is counted here
+    private void serve(Socket socket) {
+        Tester mirror = new GreedyTester(offlineFactory.get());
+        mirror.buildGraph();
+        List<CoverageMetric> metrics = List.of(
+                mirror.addCoverageMetric(new TransitionCoverage()),
+                mirror.addCoverageMetric(new StateCoverage()),
+                mirror.addCoverageMetric(new ActionCoverage()));
+        Model model = mirror.getModel();
+        model.setTesting(false);
+
+        List<Transition> segment = List.of();
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals("READY")) {
+                    segment = nextSegment();
+                    if (segment.isEmpty()) {
+                        out.println("BYE");
+                        return;
+                    }
+                    model.doReset("coordinator");
+                    out.println("WALK " + String.join(" ", pathTo(segment)));
+                } else if (line.startsWith("STEP ")) {
+                    Object from = model.getCurrentState();
+                    String action = line.substring("STEP ".length());
+                    model.doAction(model.getActionNumber(action));
+                    taken(new Transition(from, action, model.getCurrentState()));
+                } else if (line.startsWith("FAIL ")) {
+                    String[] parts = line.split(" ", 3);
+                    failed(model.getCurrentState(), parts[1], parts.length > 2 ? parts[2] : "");
+                } else if (line.equals("DONE")) {
+                    finished(segment);
+                    segment = List.of();
+                }
+            }
+        } catch (SocketException e) {
+            // Worker went away, whatever it had not taken yet goes back to the queue below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Shutting down, the worker sees the connection close
+        } catch (IOException e) {
+            throw new UncheckedIOException("Walk worker connection failed", e);
+        } finally {
+            finished(segment);
+            metrics.forEach(report::merge);
+        }
+    }
+
+    // Work for a worker that is ready, waiting while every remaining transition is assigned since a
+    // walk that fails or disconnects hands its transitions back. Empty once there is nothing left to do.
+    private synchronized List<Transition> nextSegment() throws InterruptedException {
+        while (true) {
+            List<Transition> segment = unassignedSegment();
+            if (!segment.isEmpty() || (remaining.isEmpty() && assigned.isEmpty()) || server.isClosed()) {
+                return segment;
+            }
+            wait();
+        }
+    }
+
+    // The first untaken transition nobody is working on, then as many more as follow on from it
+    private List<Transition> unassignedSegment() {
+        List<Transition> segment = new ArrayList<>();
+        for (Transition tr : remaining) {
+            if (!assigned.contains(tr)) {
+                segment.add(tr);
+                break;
+            }
+        }
+        while (!segment.isEmpty() && segment.size() <= MAX_SEGMENT) {
+            Object at = segment.get(segment.size() - 1).getEndState();
+            Transition next = graph.getTransitionsFrom(at).stream()
+                    .filter(tr -> remaining.contains(tr) && !assigned.contains(tr) && !segment.contains(tr))
+                    .findFirst().orElse(null);
+            if (next == null) {
+                break;
+            }
+            segment.add(next);
+        }
+        assigned.addAll(segment);
+        if (!segment.isEmpty()) {
+            walks++;
+        }
+        return segment;
+    }
+
+    // Actions from reset to the start of the segment, then the segment itself
+    private synchronized List<String> pathTo(List<Transition> segment) {
+        List<String> actions = new ArrayList<>(pathAvoidingFailures(segment.get(0).getStartState()));
+        segment.forEach(tr -> actions.add(tr.getAction()));
+        return actions;
+    }
+
+    private synchronized void taken(Transition tr) {
+        remaining.remove(tr);
+        notifyAll();
+    }
+
+    // A failing transition is reported once and neither it nor anything only reachable through it
+    // is handed out again
+    private synchronized void failed(Object state, String action, String message) {
+        failures.add(state + " --" + action + "--> : " + message);
+        failedSteps.add(state + " " + action);
+        remaining.removeIf(candidate -> failedSteps.contains(candidate.getStartState() + " " + candidate.getAction())
+                || pathAvoidingFailures(candidate.getStartState()) == null);
+        notifyAll();
+    }
+
+    // Shortest actions from reset to the state over steps that have not failed, breadth first over the
+    // whole graph so a state that is only left reachable by a longer way still counts. Null when there is none.
+    private List<String> pathAvoidingFailures(Object state) {
+        Map<Object, List<String>> paths = new HashMap<>();
+        Deque<Object> todo = new ArrayDeque<>();
+        paths.put(graph.getInitialState(), List.of());
+        todo.add(graph.getInitialState());
+        while (!todo.isEmpty()) {
+            Object at = todo.poll();
+            if (at.equals(state)) {
+                return paths.get(at);
+            }
+            for (Transition tr : graph.getTransitionsFrom(at)) {
+                if (!failedSteps.contains(at + " " + tr.getAction()) && !paths.containsKey(tr.getEndState())) {
+                    List<String> longer = new ArrayList<>(paths.get(at));
+                    longer.add(tr.getAction());
+                    paths.put(tr.getEndState(), longer);
+                    todo.add(tr.getEndState());
+                }
+            }
+        }
+        return null;
+    }
+
+    private synchronized void finished(List<Transition> segment) {
+        assigned.removeAll(segment);
+        notifyAll();
+    }
+
+    // Start worker JVMs on this machine with the same classpath and -Dabc.* settings as this one
+    public List<Process> launchWorkers(int count, Class<? extends FsmModel> modelClass) {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(name -> name.startsWith("abc."))
+                    .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), WalkWorker.class.getName(),
+                    "localhost", String.valueOf(getPort()), modelClass.getName()));
+            try {
+                processes.add(new ProcessBuilder(command).inheritIO().start());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start walk worker", e);
+            }
+        }
+        return processes;
+    }
+}
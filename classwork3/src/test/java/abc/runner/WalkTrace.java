@@ -0,0 +1,113 @@
+package abc.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// One walk of the model as a small tab separated text file: the seed it was generated from,
+// every step taken with the states around it and how long it took, and the failure if any
+public class WalkTrace {
+
+    // A reset is stored as a step named TourPlanner.RESET
+    public record Step(String action, String from, String to, long micros) {
+    }
+
+    private final long seed;
+    private final List<Step> steps = new ArrayList<>();
+    private String failedAction; // Action that threw, not part of the steps
+    private String failedState;
+    private String failure;
+
+    public WalkTrace(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public void addStep(Step step) {
+        steps.add(step);
+    }
+
+    public void setFailure(String action, String state, String message) {
+        failedAction = action;
+        failedState = state;
+        failure = message;
+    }
+
+    public boolean hasFailed() {
+        return failedAction != null;
+    }
+
+    public String getFailedAction() {
+        return failedAction;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    // Every action in order, ending with the failing one, which is what a replay has to run
+    public List<String> actions() {
+        List<String> actions = new ArrayList<>(steps.stream().map(Step::action).toList());
+        if (hasFailed()) {
+            actions.add(failedAction);
+        }
+        return actions;
+    }
+
+    public void save(Path file) {
+        StringBuilder text = new StringBuilder("seed\t" + seed + "\n");
+        for (Step step : steps) {
+            text.append(String.join("\t", "step", step.action(), step.from(), step.to(),
+                    String.valueOf(step.micros()))).append('\n');
+        }
+        if (hasFailed()) {
+            text.append(String.join("\t", "fail", failedAction, failedState, oneLine(failure))).append('\n');
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, text);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write trace " + file, e);
+        }
+    }
+
+    public static WalkTrace load(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read trace " + file, e);
+        }
+
+        WalkTrace trace = null;
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            switch (fields[0]) {
+                case "seed" -> trace = new WalkTrace(Long.parseLong(fields[1]));
+                case "step" -> trace.addStep(new Step(fields[1], fields[2], fields[3], Long.parseLong(fields[4])));
+                case "fail" -> trace.setFailure(fields[1], fields[2], fields[3]);
+                default -> {
+                    // Blank or unknown lines are ignored so traces can be annotated by hand
+                }
+            }
+        }
+        if (trace == null) {
+            throw new IllegalArgumentException("No seed line in trace " + file);
+        }
+        return trace;
+    }
+
+    private static String oneLine(String text) {
+        return String.valueOf(text).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,70 @@
+package abc.runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import nz.ac.waikato.modeljunit.FsmModel;
+import nz.ac.waikato.modeljunit.Model;
+import nz.ac.waikato.modeljunit.StopOnFailureListener;
+
+// Worker JVM for WalkCoordinator: drives its own browser model through the walks it is handed
+// and reports every step as it goes.
+//   java -cp <test classpath> abc.runner.WalkWorker <host> <port> <model class>
+public class WalkWorker {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: WalkWorker <host> <port> <model class>");
+            System.exit(2);
+        }
+        FsmModel fsm = (FsmModel) Class.forName(args[2]).getDeclaredConstructor().newInstance();
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            Model model = new Model(fsm);
+            model.setTesting(true);
+            model.addListener(new StopOnFailureListener()); // Otherwise a failing action only gets logged
+            run(model, socket);
+        } finally {
+            Releasable.release(fsm);
+        }
+        System.exit(0); // Let the shutdown hooks quit the pooled browsers
+    }
+
+    private static void run(Model model, Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        while (true) {
+            out.println("READY");
+            String line = in.readLine();
+            if (line == null || !line.startsWith("WALK ")) {
+                return; // BYE, or the coordinator is gone
+            }
+            model.doReset("worker");
+            for (String action : Arrays.asList(line.substring("WALK ".length()).split(" "))) {
+                if (!step(model, action, out)) {
+                    break;
+                }
+            }
+            out.println("DONE");
+        }
+    }
+
+    // Take one step and report it, false once the walk cannot go on
+    private static boolean step(Model model, String action, PrintWriter out) {
+        try {
+            if (!model.doAction(model.getActionNumber(action))) {
+                out.println("FAIL " + action + " not enabled in " + model.getCurrentState());
+                return false;
+            }
+            out.println("STEP " + action);
+            return true;
+        } catch (RuntimeException | AssertionError e) {
+            out.println("FAIL " + action + " " + String.valueOf(e.getMessage()).replaceAll("\\s+", " "));
+            return false;
+        }
+    }
+}
@@ -2,26 +2,91 @@ package abc.tests;
 
 import nz.ac.waikato.modeljunit.*;
 import nz.ac.waikato.modeljunit.coverage.ActionCoverage;
+import nz.ac.waikato.modeljunit.coverage.CoverageMetric;
 import nz.ac.waikato.modeljunit.coverage.StateCoverage;
 import nz.ac.waikato.modeljunit.coverage.TransitionCoverage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 
 import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import abc.config.TestConfig;
+import abc.driver.BrowserMemory;
+import abc.driver.BrowserSnapshot;
+import abc.driver.DriverPool;
+import abc.fixture.FixtureServer;
+import abc.fixture.ResponseCache;
+import abc.metrics.ActionPhases;
+import abc.metrics.ActionPhases.Phase;
+import abc.metrics.BlockedRequestListener;
+import abc.metrics.FailureArtifacts;
+import abc.metrics.LatencyHistogram;
+import abc.metrics.LatencyListener;
+import abc.metrics.RotatingStepLog;
+import abc.metrics.SoakMonitor;
+import abc.metrics.StepCounters;
+import abc.metrics.WebPerformanceListener;
 import abc.pageobjects.ArticlePageObject;
+import abc.pageobjects.ArticleSnapshot;
 import abc.pageobjects.HomepagePageObject;
+import abc.pageobjects.LocatorCache;
+import abc.pageobjects.PageReadiness;
 import abc.pageobjects.SearchPageObject;
+import abc.pageobjects.SearchSnapshot;
+import abc.pageobjects.SelectorRegistry;
+import abc.pageobjects.StaticPage;
+import abc.runner.ActionCosts;
+import abc.runner.ChangeAwareRunner;
+import abc.runner.CostAwareTester;
+import abc.runner.CoverageReport;
+import abc.runner.DeepLinkRunner;
+import abc.runner.DeepLinkable;
+import abc.runner.FingerprintStore;
+import abc.runner.LoadGenerator;
+import abc.runner.ModelGraph;
+import abc.runner.ParallelModelRunner;
+import abc.runner.Releasable;
+import abc.runner.SequenceGenerator;
+import abc.runner.TourPlanner;
+import abc.runner.TraceRecorder;
+import abc.runner.TraceReplayer;
+import abc.runner.WalkCoordinator;
+import abc.runner.WalkTrace;
 
 
 
-public class AbcNewsModelTest implements FsmModel {
+public class AbcNewsModelTest implements FsmModel, DeepLinkable, Releasable {
     // Update states to match the diagram exactly
     public enum State {
         HOMEPAGE,           // Starting state
@@ -30,15 +95,32 @@ public class AbcNewsModelTest implements FsmModel {
         FILTERED_SEARCH_PAGE // After filtering results
     }
     
+    private static final String SEARCH_TERM = "manslaughter"; // Search term used by the search actions
+    private static final String SEARCH_FILTER = "week"; // URL value of the "Last Week" date filter
+
     private State currentState; // Track current state of the FSM
+    private State startState = State.HOMEPAGE; // State reset lands in, reached by deep link if not the homepage
+    private boolean testing; // False while ModelJUnit explores the model without a browser
+    private boolean browser = true; // False for copies that are only ever walked offline
     private WebDriver driver;  // WebDriver instance for browser automation
     private WebDriverWait wait; // Wait instance for WebDriver
+    private PageReadiness readiness; // Single round trip wait for the elements of a state
+    private LocatorCache elements; // Elements found on the current page, shared by the page objects
+    private SelectorRegistry selectors; // Checks every locator of a state's page object on entering it
+    private StaticPage page; // Parsed page used instead of the driver in lite mode (-Dabc.lite)
 
     // Page objects for the ABC News website to interact with the UI
     private HomepagePageObject homePage; // Page object for the homepage
     private ArticlePageObject articlePage; // Page object for the article page
     private SearchPageObject searchPage; // Page object for the search results page
 
+    // A copy of the model that never opens a browser, even when reset for testing, used to plan walks
+    public static AbcNewsModelTest offline() {
+        AbcNewsModelTest model = new AbcNewsModelTest();
+        model.browser = false;
+        return model;
+    }
+
     @Override
     // Return the current state of the finite state machine
     public State getState() {
@@ -52,40 +134,180 @@ public class AbcNewsModelTest implements FsmModel {
         return currentState;
     }
 
+    @Override
+    // Land on the given state after each reset without clicking through the UI to get there
+    public void startFrom(Object state) {
+        startState = (State) state;
+    }
+
     @Override
     // Reset the finite state machine to its initial state
     public void reset(boolean testing) {
-        currentState = State.HOMEPAGE; // Reset to starting state to the homepage since it is our starting state
+        currentState = startState; // Reset to starting state, the homepage unless a deep link start was asked for
+        this.testing = testing && browser;
         
-        if (testing) {
+        if (this.testing && Boolean.getBoolean("abc.lite")) {
+            resetLite();
+        } else if (this.testing) {
             try {
-                // Clean up existing WebDriver instance if it exists
+                // Hand the previous browser back to the pool instead of quitting it
                 if (driver != null) {
-                    driver.quit();
+                    DriverPool.shared().release(driver);
                 }
                 
-                // Create new WebDriver instance
-                driver = new ChromeDriver();
-                wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-                driver.manage().window().maximize();
-                
-                // Navigate to starting page
-                driver.get("https://abcnews.go.com");
-                
-                // Initialize page objects
-                homePage = new HomepagePageObject(driver);
-                articlePage = new ArticlePageObject(driver);
-                searchPage = new SearchPageObject(driver, wait);
+                // Lease a warm WebDriver instance, already cleaned and on the starting page
+                attach(DriverPool.shared().acquire());
                 
                 // Verify initial state
                 assertTrue("Should start on homepage", 
-                        driver.getCurrentUrl().equals("https://abcnews.go.com/"));
+                        currentUrl().equals(TestConfig.homeUrl()));
+                selectors.check(State.HOMEPAGE);
+                elements.enter(State.HOMEPAGE, TestConfig.homeUrl());
+
+                if (startState != State.HOMEPAGE) {
+                    deepLinkTo(startState);
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Failed to initialize test environment", e);
             }
         }
     }
 
+    // Structure of the current state's page, compared between runs to find what changed
+    public String pageFingerprint() {
+        return selectors.fingerprint(currentState);
+    }
+
+    @Override
+    // Hand the leased browser back to the pool, and close the parsed page in lite mode
+    public void release() {
+        if (driver != null) {
+            DriverPool.shared().release(driver);
+            driver = null;
+        }
+        if (page != null) {
+            page.close();
+            page = null;
+        }
+    }
+
+    // Memory used by the leased browser, -1 when there is none or it cannot be measured
+    public long browserRssBytes() {
+        return driver == null || page != null ? -1 : BrowserMemory.rssBytes(driver);
+    }
+
+    public long jsHeapBytes() {
+        return driver == null || page != null ? -1 : BrowserMemory.jsHeapBytes(driver);
+    }
+
+    // Swap a browser that has grown past the limit for a fresh one on the same page, between two steps
+    public boolean recycleBrowserIfOver(long rssLimitBytes) {
+        if (browserRssBytes() <= rssLimitBytes) {
+            return false;
+        }
+        String url = driver.getCurrentUrl();
+        DriverPool.shared().retire(driver);
+        attach(DriverPool.shared().acquire());
+
+        // Every state can be reached from its URL, so the walk carries on where it was
+        driver.get(url);
+        awaitState(currentState);
+        return true;
+    }
+
+    // Drive the given browser from now on, with fresh waits and page objects on it
+    private void attach(WebDriver leased) {
+        driver = leased;
+        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        readiness = new PageReadiness(driver, Duration.ofSeconds(10));
+        elements = new LocatorCache(driver);
+
+        // Initialize page objects
+        homePage = new HomepagePageObject(driver, elements);
+        articlePage = new ArticlePageObject(driver, elements);
+        searchPage = new SearchPageObject(driver, elements);
+
+        selectors = register(new SelectorRegistry(driver, Duration.ofMillis(500)));
+    }
+
+    // Every locator of a state's page object is checked on entering it, the no results message
+    // only shows when nothing matched
+    private SelectorRegistry register(SelectorRegistry registry) {
+        return registry
+                .register(State.HOMEPAGE, homePage)
+                .register(State.ARTICLE_PAGE, articlePage)
+                .register(State.SEARCH_PAGE, searchPage, "noResults")
+                .register(State.FILTERED_SEARCH_PAGE, searchPage, "noResults");
+    }
+
+    // Lite mode: fetch and parse pages in the JVM, only the date filter still goes through a browser
+    private void resetLite() {
+        if (page != null) {
+            page.close();
+        }
+        page = new StaticPage();
+        page.open(TestConfig.homeUrl());
+
+        // Initialize page objects on the parsed page
+        homePage = new HomepagePageObject(page);
+        articlePage = new ArticlePageObject(page);
+        searchPage = new SearchPageObject(page);
+        selectors = register(new SelectorRegistry(page));
+
+        // Verify initial state
+        assertEquals("Should start on homepage", TestConfig.homeUrl(), page.getCurrentUrl());
+
+        if (startState != State.HOMEPAGE) {
+            deepLinkTo(startState);
+        }
+    }
+
+    // Load the page of a state straight from its URL, with the query and filter the actions would have used
+    private void deepLinkTo(State state) {
+        switch (state) {
+            case HOMEPAGE -> open(TestConfig.homeUrl());
+            case ARTICLE_PAGE -> open(homePage.snapshot().articleHrefs().get(7)); // The article clickArticle opens
+            case SEARCH_PAGE -> open(TestConfig.searchUrl(SEARCH_TERM, ""));
+            case FILTERED_SEARCH_PAGE -> open(TestConfig.searchUrl(SEARCH_TERM, SEARCH_FILTER));
+        }
+        awaitState(state);
+    }
+
+    // Wait until the page of the given state has the elements our assertions rely on
+    private void awaitState(State state) {
+        By ready = switch (state) {
+            case HOMEPAGE -> By.cssSelector("div.liAe.uMOq.zYIfP");
+            case ARTICLE_PAGE -> By.cssSelector(".vMjAx.gjbzK.tntuS.eHrJ.mTgUP");
+            case SEARCH_PAGE, FILTERED_SEARCH_PAGE -> By.cssSelector(".ContentRoll__Item");
+        };
+        if (page != null) {
+            page.require(state.name(), ready); // A parsed page is already complete
+        } else {
+            readiness.await(state.name(), false, ready);
+            selectors.check(state); // Fails naming any selector that no longer matches
+            elements.enter(state, driver.getCurrentUrl()); // Elements found before navigating are gone
+        }
+    }
+
+    // Wait until the browser has navigated to the given URL, parsed pages are there already
+    private void awaitUrl(String url) {
+        if (page == null) {
+            wait.until(ExpectedConditions.urlToBe(url));
+        }
+    }
+
+    private void open(String url) {
+        if (page != null) {
+            page.open(url);
+        } else {
+            driver.get(url);
+        }
+    }
+
+    private String currentUrl() {
+        return page != null ? page.getCurrentUrl() : driver.getCurrentUrl();
+    }
+
     // Article guard
     // Article can only be clicked from the homepage
     public boolean clickArticleGuard() {
@@ -103,24 +325,30 @@ public class AbcNewsModelTest implements FsmModel {
             );
         }
 
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.ARTICLE_PAGE;
+            return;
+        }
+
         // Get the title of the article that is displayed on the homepage
-        String articleTitle = homePage.getArticleHeadingIndex(7);
+        String articleTitle = homePage.snapshot().articleHeading(7);
         homePage.clickOnArticle(7);
 
         // Transition to ArticlePage state
         currentState = State.ARTICLE_PAGE;
 
         // Wait for the article title element to appear on the Article Page
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector(".vMjAx.gjbzK.tntuS.eHrJ.mTgUP")
-        ));
+        awaitState(State.ARTICLE_PAGE);
 
         // Verify we reached the correct article and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
+        ArticleSnapshot article = articlePage.snapshot();
         assertTrue("Article page should be fully loaded", 
-              articlePage.isArticleContentVisible());
+              article.isContentVisible());
         assertEquals("Article title should match",
                     articleTitle,
-                    articlePage.getArticleTitle());
+                    article.title());
     }
 
     // Return from article to home guard
@@ -140,21 +368,27 @@ public class AbcNewsModelTest implements FsmModel {
             );
         }
 
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.HOMEPAGE;
+            return;
+        }
+
         // Click on the homepage link to return to the homepage
         homePage.clickOnHomePageLink();
         
         
         // Wait for the homepage to load 
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector("div.liAe.uMOq.zYIfP")  
-        ));
-        wait.until(ExpectedConditions.urlToBe("https://abcnews.go.com/"));
+        ActionPhases.enter(Phase.WAIT);
+        awaitUrl(TestConfig.homeUrl());
+        awaitState(State.HOMEPAGE);
         
         currentState = State.HOMEPAGE; // Transition back to homepage state
 
         // Verify we're back on the homepage and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
         assertTrue("Should be on homepage", 
-                driver.getCurrentUrl().equals("https://abcnews.go.com/"));
+                currentUrl().equals(TestConfig.homeUrl()));
     }
 
     // Search from article guard
@@ -173,23 +407,29 @@ public class AbcNewsModelTest implements FsmModel {
             );
         }
 
-        String searchTerm = "manslaughter"; // Search term to use
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.SEARCH_PAGE;
+            return;
+        }
+
+        String searchTerm = SEARCH_TERM; // Search term to use
         
         // Perform the search
         homePage.searchFor(searchTerm);
         
         // Wait for search results to appear
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector(".ContentRoll__Item")
-        ));
+        awaitState(State.SEARCH_PAGE);
         
         currentState = State.SEARCH_PAGE; // Transition to SearchPage state
         
         // Verify search results and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
+        SearchSnapshot results = searchPage.snapshot();
         assertTrue("Search term should be in URL",
-                  driver.getCurrentUrl().contains(searchTerm));
+                  results.url().contains(searchTerm));
         assertTrue("Search should return at least one result",
-                  searchPage.getSearchResultsCount() > 0);    
+                  results.resultCount() > 0);    
     }
 
 
@@ -209,23 +449,29 @@ public class AbcNewsModelTest implements FsmModel {
             );
         }
 
-        String searchTerm = "manslaughter"; // Search term to use
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.SEARCH_PAGE;
+            return;
+        }
+
+        String searchTerm = SEARCH_TERM; // Search term to use
         
         // Perform the search
         homePage.searchFor(searchTerm);
         
         // Wait for search results to appear
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector(".ContentRoll__Item")
-        ));
+        awaitState(State.SEARCH_PAGE);
         
         currentState = State.SEARCH_PAGE; // Transition to SearchPage state
         
         // Verify search results and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
+        SearchSnapshot results = searchPage.snapshot();
         assertTrue("Search term should be in URL",
-                  driver.getCurrentUrl().contains(searchTerm));
+                  results.url().contains(searchTerm));
         assertTrue("Search should return at least one result",
-                  searchPage.getSearchResultsCount() > 0);    
+                  results.resultCount() > 0);    
     }
 
     // Return from search to home guard
@@ -244,20 +490,26 @@ public class AbcNewsModelTest implements FsmModel {
             );
         }
 
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.HOMEPAGE;
+            return;
+        }
+
         // Click on the homepage link to return to the homepage
         homePage.clickOnHomePageLink();
         
         // Wait for the homepage to load
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector("div.liAe.uMOq.zYIfP")  
-        ));
-        wait.until(ExpectedConditions.urlToBe("https://abcnews.go.com/"));
+        ActionPhases.enter(Phase.WAIT);
+        awaitUrl(TestConfig.homeUrl());
+        awaitState(State.HOMEPAGE);
         
         currentState = State.HOMEPAGE; // Transition back to homepage state
 
         // Verify we're back on the homepage and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
         assertTrue("Should be on homepage", 
-                driver.getCurrentUrl().equals("https://abcnews.go.com/"));
+                currentUrl().equals(TestConfig.homeUrl()));
     }
 
     // Click article from search guard
@@ -277,27 +529,34 @@ public class AbcNewsModelTest implements FsmModel {
             );
         }
 
-        // Get the title of the article that is displayed on the search page
-        String articleTitle = searchPage.getSearchResultsHeadline(1);
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.ARTICLE_PAGE;
+            return;
+        }
+
+        // Get the title and link of the article that is displayed on the search page
+        SearchSnapshot results = searchPage.snapshot();
+        String articleTitle = results.headline(1);
 
-        // Using the new clickOnArticle method which now properly targets the headline link
-        String articeURl = searchPage.getArticleUrl(1);
-        driver.get(articeURl);
+        // Open the headline link directly
+        String articeURl = results.articleUrl(1);
+        open(articeURl);
 
         // Transition to ArticlePage state
         currentState = State.ARTICLE_PAGE;
 
         // Wait for the article title element to appear on the Article Page
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector(".vMjAx.gjbzK.tntuS.eHrJ.mTgUP")
-        ));
+        awaitState(State.ARTICLE_PAGE);
 
         // Verify we reached the correct article and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
+        ArticleSnapshot article = articlePage.snapshot();
         assertTrue("Article page should be fully loaded",
-            articlePage.isArticleContentVisible());
+            article.isContentVisible());
         assertEquals("Article title should match",
             articleTitle,
-            articlePage.getArticleTitle());
+            article.title());
     }
 
     // Filter results guard
@@ -309,8 +568,14 @@ public class AbcNewsModelTest implements FsmModel {
     @Action
     // Filter search results
     public void filterResults() {
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.FILTERED_SEARCH_PAGE;
+            return;
+        }
+
         // Store initial count for comparison
-        int initialCount = searchPage.getSearchResultsCount();
+        int initialCount = searchPage.snapshot().resultCount();
             
         // Perform the filtering
         searchPage.filterByDate("Last Week");
@@ -318,7 +583,8 @@ public class AbcNewsModelTest implements FsmModel {
         currentState = State.FILTERED_SEARCH_PAGE; // Transition to FilteredSearchPage state
             
         // Verify filtering changed the results and perform tests
-        int finalCount = searchPage.getSearchResultsCount();
+        ActionPhases.enter(Phase.ASSERTION);
+        int finalCount = searchPage.snapshot().resultCount();
         assertTrue("Filter should change number of results",
                       finalCount <= initialCount);
     }
@@ -333,6 +599,12 @@ public class AbcNewsModelTest implements FsmModel {
     @Action
     // Return from filtered search to home
     public void returnFromFilteredSearchToHome() {
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.HOMEPAGE;
+            return;
+        }
+
         // Use homepage link to return to homepage
         homePage.clickOnHomePageLink();
 
@@ -340,8 +612,9 @@ public class AbcNewsModelTest implements FsmModel {
         currentState = State.HOMEPAGE;
 
         // Verify we're back on homepage and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
         assertTrue("Should be on homepage", 
-                   driver.getCurrentUrl().equals("https://abcnews.go.com/"));
+                   currentUrl().equals(TestConfig.homeUrl()));
     }
 
 
@@ -354,50 +627,790 @@ public class AbcNewsModelTest implements FsmModel {
     @Action
     // Click article from filtered search
     public void clickArticleFromFilteredSearch() {
-        // Get the title of the article that is displayed on the search page
-        String articleTitle = searchPage.getSearchResultsHeadline(1);
+        // Offline exploration only tracks the state, there is no browser to drive
+        if (!testing) {
+            currentState = State.ARTICLE_PAGE;
+            return;
+        }
+
+        // Make sure the filtered results have rendered
+        awaitState(State.FILTERED_SEARCH_PAGE);
+
+        // Get the title and link of the article that is displayed on the search page
+        SearchSnapshot results = searchPage.snapshot();
+        String articleTitle = results.headline(1);
 
-        // Using the new clickOnArticle method which now properly targets the headline link
-        String articeURl = searchPage.getArticleUrl(1);
-        driver.get(articeURl);
+        // Open the headline link directly
+        String articeURl = results.articleUrl(1);
+        open(articeURl);
 
         // Transition to ArticlePage state
         currentState = State.ARTICLE_PAGE;
 
         // Wait for the article title element to appear on the Article Page
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-            By.cssSelector(".vMjAx.gjbzK.tntuS.eHrJ.mTgUP")
-        ));
+        awaitState(State.ARTICLE_PAGE);
 
         // Verify we reached the correct article and perform tests
+        ActionPhases.enter(Phase.ASSERTION);
+        ArticleSnapshot article = articlePage.snapshot();
         assertTrue("Article page should be fully loaded",
-            articlePage.isArticleContentVisible());
+            article.isContentVisible());
         assertEquals("Article title should match",
             articleTitle,
-            articlePage.getArticleTitle());
+            article.title());
     }
 
     @Test
+    @ResourceLock(BROWSERS)
     // Test the model using the GreedyTester
     public void testModel() {
-        Tester tester = new GreedyTester(new AbcNewsModelTest()); // Create a new GreedyTester
-        tester.setRandom(new Random()); // Use random seed for random testing
+        AbcNewsModelTest model = new AbcNewsModelTest();
+        Tester tester = new GreedyTester(model); // Create a new GreedyTester
+        long seed = Long.getLong("abc.seed", System.currentTimeMillis()); // Recorded in the trace so the walk can be repeated
+        tester.setRandom(new Random(seed)); // Use random seed for random testing
         tester.buildGraph(); // Build the graph
         
         // Add listeners to the tester so that it can report on the testing process
         tester.addListener(new VerboseListener());
         tester.addListener(new StopOnFailureListener()); 
+        BlockedRequestListener blockedRequests = new BlockedRequestListener();
+        tester.addListener(blockedRequests);
+        LatencyListener latency = new LatencyListener();
+        tester.addListener(latency);
+        TraceRecorder trace = new TraceRecorder(seed);
+        tester.addListener(trace);
+        WebPerformanceListener webPerformance = new WebPerformanceListener(() -> model.driver);
+        tester.addListener(webPerformance);
+        FailureArtifacts artifacts = new FailureArtifacts(() -> model.driver,
+                Paths.get(System.getProperty("abc.artifacts.dir", "target/failures")), 32);
+        tester.addListener(artifacts);
         
         // Add detailed coverage metrics
         tester.addCoverageMetric(new TransitionCoverage());
         tester.addCoverageMetric(new StateCoverage());
         tester.addCoverageMetric(new ActionCoverage());
         
-        // Generate test cases
-        tester.generate(30);
+        // Generate test cases, keeping the trace of the walk whether it passes or not
+        Path traceFile = traceDir().resolve("walk-" + seed + ".trace");
+        try {
+            tester.generate(30);
+        } catch (TestFailureException e) {
+            trace.failure(e);
+            artifacts.failure(e); // In case the stop listener threw before it was told
+            System.out.println("Walk failed, replay with -Dabc.trace=" + traceFile);
+            throw e;
+        } finally {
+            trace.getTrace().save(traceFile);
+            artifacts.close();
+            model.release();
+        }
         
         // Print detailed coverage metrics
         tester.printCoverage();
+
+        // Show how many resets were served by a warm browser
+        DriverPool.shared().printStatistics();
+        ResponseCache.shared().printStatistics();
+        blockedRequests.print();
+        PageReadiness.printStatistics();
+        LocatorCache.printStatistics();
+        SelectorRegistry.printStatistics();
+        StaticPage.printStatistics();
+
+        // Keep the per action latency histograms so runs can be compared
+        latency.print();
+        latency.export(Paths.get(System.getProperty("abc.metrics.dir", "target/metrics")));
+
+        // Page timings per state, over budget fails the run against the fixture or with -Dabc.budgets
+        webPerformance.print();
+        webPerformance.export(Paths.get(System.getProperty("abc.metrics.dir", "target/metrics")));
+        List<String> overBudget = webPerformance.budgetViolations();
+        if (WebPerformanceListener.isEnforced()) {
+            assertTrue("Performance budgets exceeded: " + overBudget, overBudget.isEmpty());
+        } else if (!overBudget.isEmpty()) {
+            System.out.println("Over performance budget (not enforced on the live site): " + overBudget);
+        }
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Test the model with several independent walks running side by side
+    public void testModelInParallel() {
+        assumeRunner("parallel");
+        int workers = Integer.getInteger("abc.workers", 2); // One browser per worker
+        long seed = Long.getLong("abc.seed", System.currentTimeMillis()); // Walk i uses seed + i
+        System.out.println("Parallel walks: " + workers + " workers, base seed " + seed);
+
+        // Split the same 30 step budget across the workers
+        ParallelModelRunner runner = new ParallelModelRunner(AbcNewsModelTest::new, workers, seed);
+        CoverageReport report = runner.run(30);
+
+        // Print the coverage of all walks merged together
+        report.print();
+        DriverPool.shared().printStatistics();
+        ResponseCache.shared().printStatistics();
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Cover every transition with -Dabc.workers worker JVMs, each driving its own browsers, fed walk segments
+    // by a coordinator listening on localhost (-Dabc.coordinator.port, any free port by default)
+    public void testModelDistributed() {
+        assumeRunner("distributed");
+        int workers = Integer.getInteger("abc.workers", 2);
+        try (WalkCoordinator coordinator = new WalkCoordinator(AbcNewsModelTest::offline,
+                Integer.getInteger("abc.coordinator.port", 0))) {
+            System.out.println("Coordinator on port " + coordinator.getPort() + ", starting " + workers + " workers");
+            List<Process> processes = coordinator.launchWorkers(workers, AbcNewsModelTest.class);
+            CoverageReport report;
+            try {
+                report = coordinator.run(Duration.ofMinutes(10));
+            } finally {
+                WalkCoordinator.stopWorkers(processes); // Also after a timeout, bounded even if a worker hangs
+            }
+
+            report.print();
+            System.out.println("Walks handed out: " + coordinator.getWalks());
+            assertEquals("Failing transitions", List.of(), coordinator.getFailures());
+            assertEquals("Should take every transition",
+                    report.getMaximum("transition coverage"), report.getCoverage("transition coverage"));
+        }
+    }
+
+    // Two ways from 0 into the dead end 2, so a tour has to reset out of it once in between
+    public static class DeadEndModel implements FsmModel {
+        private int state;
+
+        public Object getState() {
+            return state;
+        }
+
+        public void reset(boolean testing) {
+            state = 0;
+        }
+
+        public boolean aGuard() {
+            return state == 0;
+        }
+
+        @Action
+        public void a() {
+            state = 1;
+        }
+
+        public boolean bGuard() {
+            return state == 1;
+        }
+
+        @Action
+        public void b() {
+            state = 2;
+        }
+
+        public boolean cGuard() {
+            return state == 0;
+        }
+
+        @Action
+        public void c() {
+            state = 2;
+        }
+    }
+
+    @Test
+    // Plan tours without a browser and check they are walks that cover everything with the fewest extra steps
+    public void testTransitionTourPlanning() {
+        // The dead end is entered twice and never left, so the balanced graph resets out of it twice
+        // and the circuit's final reset back to the start is cut off
+        List<Transition> deadEndTour = new TourPlanner(DeadEndModel::new, DeadEndModel::new).plan();
+        assertTourCoversGraph(ModelGraph.explore(new DeadEndModel()), deadEndTour);
+        assertEquals("Dead end tour length", 4, deadEndTour.size());
+        assertEquals("Resets in the dead end tour", 1,
+                deadEndTour.stream().filter(step -> step.getAction().equals(TourPlanner.RESET)).count());
+
+        // Nine transitions with the homepage and article page entered once more than they are left,
+        // the cheapest rebalancing adds three steps (e.g. search from home, filter from an article search)
+        TourPlanner planner = new TourPlanner(AbcNewsModelTest::offline, AbcNewsModelTest::offline);
+        List<Transition> tour = planner.plan();
+        assertTourCoversGraph(planner.getGraph(), tour);
+        assertTrue("Tour should need at most three extra steps, took " + tour.size(),
+                tour.size() <= planner.getGraph().getTransitions().size() + 3);
+    }
+
+    // Every step starts where the last one ended, every transition is taken and the last step is a new one
+    private static void assertTourCoversGraph(ModelGraph graph, List<Transition> tour) {
+        Object at = graph.getInitialState();
+        for (Transition step : tour) {
+            assertEquals("Step " + step + " should start where the tour is", at, step.getStartState());
+            at = step.getEndState();
+        }
+        assertTrue("Tour should take every transition", tour.containsAll(graph.getTransitions()));
+        Transition last = tour.get(tour.size() - 1);
+        assertEquals("Tour should stop at the last new transition", tour.size() - 1, tour.indexOf(last));
+    }
+
+    @Test
+    // Expanded sequences each start from reset, only take enabled actions, never begin another one and
+    // together take every transition
+    public void testSequenceGeneration() {
+        // a alone is dropped since a, b begins with it
+        assertEquals("Dead end sequences", Set.of(List.of("a", "b"), List.of("c")),
+                new HashSet<>(SequenceGenerator.expand(ModelGraph.explore(new DeadEndModel()))));
+        assertSequencesCoverGraph(DeadEndModel::new);
+        assertSequencesCoverGraph(AbcNewsModelTest::offline);
+    }
+
+    private static void assertSequencesCoverGraph(Supplier<? extends FsmModel> factory) {
+        ModelGraph graph = ModelGraph.explore(factory.get());
+        List<List<String>> sequences = SequenceGenerator.expand(graph);
+        Set<Transition> taken = new HashSet<>();
+        Model model = new Model(factory.get());
+        model.setTesting(false);
+        for (List<String> sequence : sequences) {
+            model.doReset("sequence");
+            for (String action : sequence) {
+                Object from = model.getCurrentState();
+                assertTrue(action + " should be enabled in " + from, model.doAction(model.getActionNumber(action)));
+                taken.add(new Transition(from, action, model.getCurrentState()));
+            }
+            assertTrue(sequence + " should not begin another sequence", sequences.stream().noneMatch(other ->
+                    other.size() > sequence.size() && other.subList(0, sequence.size()).equals(sequence)));
+        }
+        assertTrue("Sequences should take every transition", taken.containsAll(graph.getTransitions()));
+    }
+
+    @Test
+    // The cost aware tester goes for whichever untaken transition is quickest by the estimates, so the
+    // same graph is walked in a different order once the costs change
+    public void testCostAwareSelection(@TempDir Path dir) {
+        assertEquals("Expensive c is left for last", List.of("a", "b", TourPlanner.RESET, "c"),
+                costAwareWalk(dir.resolve("expensive-c.properties"), 1, 1, 100));
+        assertEquals("Cheap c is taken first", List.of("c", TourPlanner.RESET, "a", "b"),
+                costAwareWalk(dir.resolve("cheap-c.properties"), 100, 100, 1));
+    }
+
+    // Actions the cost aware tester takes on the dead end model until every transition is covered
+    private static List<String> costAwareWalk(Path file, long aMs, long bMs, long cMs) {
+        ActionCosts costs = ActionCosts.load(file);
+        costs.record("a", aMs * 1_000_000);
+        costs.record("b", bMs * 1_000_000);
+        costs.record("c", cMs * 1_000_000);
+        costs.record(TourPlanner.RESET, 1_000_000);
+        CostAwareTester tester = new CostAwareTester(new DeadEndModel(), ModelGraph.explore(new DeadEndModel()), costs);
+        List<String> walk = new ArrayList<>();
+        while (!tester.allTransitionsTaken() && walk.size() < 10) {
+            int action = tester.generate();
+            walk.add(action < 0 ? TourPlanner.RESET : tester.getModel().getActionName(action));
+        }
+        return walk;
+    }
+
+    @Test
+    // Percentiles of recorded latencies are exact for small values and within the 3% bucket width above them
+    public void testLatencyHistogram() {
+        LatencyHistogram small = new LatencyHistogram();
+        for (long micros = 1; micros <= 60; micros++) {
+            small.record(micros);
+        }
+        assertEquals("Median of 1..60", 30, small.getValueAtPercentile(50));
+        assertEquals("Max of 1..60", 60, small.getValueAtPercentile(100));
+
+        // 1..100000 us in two halves merged into one
+        LatencyHistogram low = new LatencyHistogram();
+        LatencyHistogram high = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            (micros <= 50_000 ? low : high).record(micros);
+        }
+        LatencyHistogram all = new LatencyHistogram();
+        all.add(low);
+        all.add(high);
+        assertEquals("Count", 100_000, all.getCount());
+        assertEquals("Min", 1, all.getMin());
+        assertEquals("Max", 100_000, all.getMax());
+        assertEquals("Mean", 50_000.5, all.getMean(), 0.001);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(percentile * 1000);
+            long reported = all.getValueAtPercentile(percentile);
+            assertTrue("p" + percentile + " should not be below " + exact + ", was " + reported, reported >= exact);
+            assertTrue("p" + percentile + " should be within 3% of " + exact + ", was " + reported,
+                    reported <= exact * 1.03);
+        }
+        assertEquals("p100 is the max", 100_000, all.getValueAtPercentile(100));
+
+        // Negative durations, e.g. from a clock step, count as zero
+        LatencyHistogram clamped = new LatencyHistogram();
+        clamped.record(-5);
+        assertEquals("Clamped", 0, clamped.getMax());
+        assertEquals("Empty", 0, new LatencyHistogram().getValueAtPercentile(99));
+    }
+
+    @Test
+    // The fixture serves every recorded page the model walks, narrows searches by date and 404s anything else
+    public void testFixtureServer() {
+        FixtureServer fixture = FixtureServer.start(0);
+        try {
+            List<String> headlines = fixture.getHeadlines();
+            String home = fetch(fixture, "/", 200);
+            assertTrue("Homepage should list every headline", headlines.stream().allMatch(home::contains));
+
+            // Four headlines mention manslaughter, matched regardless of case
+            String search = fetch(fixture, "/search?searchtext=MANSLAUGHTER", 200);
+            assertTrue("Search should find four stories", search.contains("4 results for \"MANSLAUGHTER\""));
+            assertTrue("Search should list the first match", search.contains(headlines.get(0)));
+            assertFalse("Search should leave out other stories", search.contains(headlines.get(1)));
+            assertTrue("Last week should narrow to three",
+                    fetch(fixture, "/search?searchtext=manslaughter&after=week", 200).contains("3 results for"));
+            assertTrue("Last day should narrow to one",
+                    fetch(fixture, "/search?searchtext=manslaughter&after=day", 200).contains("1 results for"));
+            assertTrue("The query should be escaped",
+                    fetch(fixture, "/search?searchtext=%3Cb%3E", 200).contains("0 results for \"&lt;b&gt;\""));
+
+            String article = fetch(fixture, "/article/3", 200);
+            assertTrue("Article should have its headline", article.contains("<title>" + headlines.get(3) + " - ABC News"));
+            fetch(fixture, "/article/" + headlines.size(), 404);
+            fetch(fixture, "/article/latest", 404);
+            fetch(fixture, "/nowhere", 404);
+        } finally {
+            fixture.stop();
+        }
+    }
+
+    // Body of a fixture page, checking the status it was served with
+    private static String fetch(FixtureServer fixture, String path, int status) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(fixture.getBaseUrl() + path)).build();
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals("Status of " + path, status, response.statusCode());
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to fetch " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted fetching " + path, e);
+        }
+    }
+
+    @Test
+    // Pages fetched without a browser answer every kind of locator the page objects use and follow links
+    // and GET forms over HTTP
+    public void testStaticPageParsing() {
+        FixtureServer fixture = FixtureServer.start(0);
+        StaticPage page = new StaticPage();
+        try {
+            List<String> headlines = fixture.getHeadlines();
+            page.open(fixture.getBaseUrl() + "/");
+            assertEquals("Headlines by CSS", headlines.size(), page.select(By.cssSelector("section.articles h2")).size());
+            assertEquals("Main title by tag name", headlines.get(0), page.first(By.tagName("h2")).text());
+            assertEquals("Logo by link text", 1, page.select(By.linkText("ABC News")).size());
+            assertEquals("Menu by partial link text", 1, page.select(By.partialLinkText("Busi")).size());
+            assertEquals("Search box by name", 1, page.select(By.name("searchtext")).size());
+            assertThrows(NoSuchElementException.class, () -> page.require("HOMEPAGE", By.className("ContentRoll")));
+
+            page.follow(By.cssSelector("section.articles a"), 3);
+            assertEquals("Followed link", fixture.getBaseUrl() + "/article/3", page.getCurrentUrl());
+            assertEquals("Article title", headlines.get(3), page.first(By.xpath("//article/h1")).text());
+
+            // The form is hidden until a script opens it, a GET submit does not need it shown
+            page.submit(By.className("search__input"), "judge denies");
+            assertTrue("Submitted search", page.getCurrentUrl().endsWith("/search?searchtext=judge+denies"));
+            assertEquals("Search results", 1, page.select(By.className("ContentRoll__Item")).size());
+        } finally {
+            page.close();
+            fixture.stop();
+        }
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Test every transition once along a tour planned offline, instead of wandering randomly
+    public void testModelWithTransitionTour() {
+        assumeRunner("tour");
+        long seed = Long.getLong("abc.seed", System.currentTimeMillis()); // Seeds of the random walks compared against
+        TourPlanner planner = new TourPlanner(AbcNewsModelTest::offline, AbcNewsModelTest::new);
+        List<Transition> tour = planner.plan();
+
+        // Compare the plan with how long random walks take to reach the same coverage
+        long resets = tour.stream().filter(step -> step.getAction().equals(TourPlanner.RESET)).count();
+        System.out.printf("Transition tour: %d steps (%d resets) for %d transitions, random walks average %.1f steps%n",
+                tour.size(), resets, planner.getGraph().getTransitions().size(),
+                planner.averageRandomWalkLength(20, seed));
+
+        // Drive the browser along the plan and print what it covered
+        CoverageReport report = planner.run(tour);
+        report.print();
+        assertEquals("Tour should cover every transition",
+            report.getMaximum("transition coverage"),
+            report.getCoverage("transition coverage"));
+        DriverPool.shared().printStatistics();
+    }
+
+    // The driver pool, its warm state and the static statistics every browser test shares. The sequences
+    // below only read it so they can run side by side, every other test waits until they are done.
+    private static final String BROWSERS = "abc.browsers";
+
+    // One model, and so one leased browser, per JUnit worker thread running the sequences below
+    private static final Queue<AbcNewsModelTest> SEQUENCE_MODELS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Model> SEQUENCE_MODEL = ThreadLocal.withInitial(() -> {
+        AbcNewsModelTest fsm = new AbcNewsModelTest();
+        SEQUENCE_MODELS.add(fsm);
+        Model model = new Model(fsm);
+        model.addListener(new StopOnFailureListener());
+        return model;
+    });
+
+    @AfterAll
+    // Hand every worker thread's browser back, the threads themselves outlive the class
+    public static void releaseSequenceModels() {
+        SEQUENCE_MODELS.forEach(AbcNewsModelTest::release);
+    }
+
+    // Offline expansion of the model into self-contained sequences, each starting from reset
+    static List<List<String>> sequences() {
+        return SequenceGenerator.expand(ModelGraph.explore(AbcNewsModelTest.offline()));
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("sequences")
+    @Execution(ExecutionMode.CONCURRENT)
+    @ResourceLock(value = BROWSERS, mode = ResourceAccessMode.READ)
+    // Each pre-generated sequence as its own test, run in parallel as set up in junit-platform.properties
+    public void testSequence(List<String> actions) {
+        Model model = SEQUENCE_MODEL.get();
+        model.setTesting(true);
+        model.doReset("sequence");
+        for (String action : actions) {
+            assertTrue("Action " + action + " should be enabled in " + model.getCurrentState(),
+                    model.doAction(model.getActionNumber(action)));
+        }
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Test each transition on its own, reaching its start state by URL instead of through the UI
+    public void testModelWithDeepLinks() {
+        assumeRunner("deepLinks");
+        DeepLinkRunner runner = new DeepLinkRunner(AbcNewsModelTest::offline, AbcNewsModelTest::new);
+
+        // Run once with the UI driving the setup and once with deep links so the saving shows
+        DeepLinkRunner.Timing ui = runner.run(false);
+        DeepLinkRunner.Timing deepLink = runner.run(true);
+        ui.print();
+        deepLink.print();
+        System.out.printf("Deep links saved %d ms of setup%n",
+                (ui.setupNanos() - deepLink.setupNanos()) / 1_000_000);
+        DriverPool.shared().printStatistics();
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Only take the transitions around states whose page structure changed since the last green run
+    // (stored in -Dabc.fingerprints), falling back to every transition each -Dabc.fullEvery runs
+    public void testModelChangeAware() {
+        assumeRunner("changeAware");
+        FingerprintStore store = FingerprintStore.load(
+                Paths.get(System.getProperty("abc.fingerprints", "target/fingerprints.properties")));
+        ChangeAwareRunner<AbcNewsModelTest> runner = new ChangeAwareRunner<>(AbcNewsModelTest::offline,
+                AbcNewsModelTest::new, AbcNewsModelTest::pageFingerprint, store, Integer.getInteger("abc.fullEvery", 7));
+        runner.run().print();
+        DriverPool.shared().printStatistics();
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Capture a warmed browser state into -Dabc.warm (once, reused after) and compare how long the homepage
+    // takes to be ready after a reset starting as a first time visitor and starting from that state
+    public void testWarmStart() {
+        assumeRunner("warmStart");
+        Path snapshotFile = Paths.get(System.getProperty("abc.warm", "target/warm-state.json"));
+        DriverPool pool = DriverPool.shared();
+        BrowserSnapshot previous = pool.getWarmState();
+
+        BrowserSnapshot warm;
+        if (Files.exists(snapshotFile)) {
+            warm = BrowserSnapshot.load(snapshotFile);
+        } else {
+            WebDriver warmed = pool.acquire();
+            warm = BrowserSnapshot.capture(warmed, List.of(TestConfig.homeUrl(), TestConfig.searchUrl(SEARCH_TERM, "")));
+            pool.release(warmed);
+            warm.save(snapshotFile);
+        }
+        System.out.printf("Warm state: %d cookies, %d localStorage items in %s%n",
+                warm.getCookieCount(), warm.getStorageCount(), snapshotFile);
+
+        try {
+            pool.setWarmState(null);
+            LongSummaryStatistics cold = homepageTimeToReady(pool, 5);
+            pool.setWarmState(warm);
+            LongSummaryStatistics warmed = homepageTimeToReady(pool, 5);
+            System.out.printf("Homepage ready after reset: first visit avg %d ms (max %d), warm avg %d ms (max %d)%n",
+                    (long) cold.getAverage(), cold.getMax(), (long) warmed.getAverage(), warmed.getMax());
+        } finally {
+            pool.setWarmState(previous);
+        }
+    }
+
+    // Milliseconds from leasing a session until the homepage's main article shows, over several resets
+    private static LongSummaryStatistics homepageTimeToReady(DriverPool pool, int resets) {
+        LongSummaryStatistics stats = new LongSummaryStatistics();
+        for (int i = 0; i < resets; i++) {
+            long start = System.nanoTime();
+            WebDriver leased = pool.acquire();
+            try {
+                new PageReadiness(leased, Duration.ofSeconds(10))
+                        .await(State.HOMEPAGE.name(), true, By.cssSelector("div.liAe.uMOq.zYIfP"));
+                stats.accept((System.nanoTime() - start) / 1_000_000);
+            } finally {
+                pool.release(leased);
+            }
+        }
+        return stats;
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Test with a tester that heads for the untested transition quickest to reach, by measured action time
+    public void testModelCostAware() {
+        assumeRunner("costAware");
+        ActionCosts costs = ActionCosts.load(Paths.get(System.getProperty("abc.costs", "target/action-costs.properties")));
+        ModelGraph graph = ModelGraph.explore(AbcNewsModelTest.offline());
+        AbcNewsModelTest model = new AbcNewsModelTest();
+        CostAwareTester tester = new CostAwareTester(model, graph, costs);
+        tester.addListener(new VerboseListener());
+        tester.addListener(new StopOnFailureListener());
+        CoverageMetric transitions = tester.addCoverageMetric(new TransitionCoverage());
+
+        // Walk until the target share of transitions is covered, -Dabc.coverage.target between 0 and 1
+        double target = Double.parseDouble(System.getProperty("abc.coverage.target", "1.0"));
+        int needed = (int) Math.ceil(target * graph.getTransitions().size());
+        long start = System.nanoTime();
+        int steps = 0;
+        try {
+            while (transitions.getCoverage() < needed && steps < 30) {
+                tester.generate();
+                steps++;
+            }
+        } finally {
+            model.release();
+        }
+        System.out.printf("Cost aware walk: %d/%d transitions in %d steps, %d ms%n",
+                transitions.getCoverage(), graph.getTransitions().size(), steps,
+                (System.nanoTime() - start) / 1_000_000);
+
+        // Keep what was learned for the next run
+        costs.print();
+        costs.save();
+        assertTrue("Should reach the coverage target", transitions.getCoverage() >= needed);
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Walk for -Dabc.soak.steps steps with memory held flat: steps stream to rotating logs, coverage is
+    // counted in place and the browser is swapped for a fresh one past -Dabc.soak.maxRssMb. Fails when
+    // the last quarter's heap or browser RSS (where it can be read) averages more than -Dabc.soak.tolerance
+    // above the first's.
+    public void testModelSoak() {
+        Long totalSteps = Long.getLong("abc.soak.steps");
+        assumeTrue(totalSteps != null, "Soak run not requested with -Dabc.soak.steps");
+        long rssLimit = Long.getLong("abc.soak.maxRssMb", 1024) * 1024 * 1024;
+        double tolerance = Double.parseDouble(System.getProperty("abc.soak.tolerance", "0.2"));
+        Path soakDir = Paths.get(System.getProperty("abc.soak.dir", "target/soak"));
+
+        AbcNewsModelTest model = new AbcNewsModelTest();
+        Tester tester = new GreedyTester(model);
+        tester.setRandom(new Random(Long.getLong("abc.seed", System.currentTimeMillis())));
+        tester.addListener(new StopOnFailureListener());
+        RotatingStepLog stepLog = new RotatingStepLog(soakDir, 10 * 1024 * 1024, 5);
+        tester.addListener(stepLog);
+        StepCounters counters = new StepCounters();
+        tester.addListener(counters);
+
+        SoakMonitor monitor = new SoakMonitor(Long.getLong("abc.soak.sampleEvery", 100));
+        try {
+            for (long step = 1; step <= totalSteps; step++) {
+                tester.generate();
+                if (monitor.isDue(step)) {
+                    monitor.sample(step, model.browserRssBytes(), model.jsHeapBytes());
+                    if (model.recycleBrowserIfOver(rssLimit)) {
+                        monitor.recycled();
+                    }
+                }
+            }
+        } finally {
+            stepLog.close();
+            monitor.export(soakDir.resolve("memory.csv"));
+            model.release();
+        }
+
+        counters.print(ModelGraph.explore(AbcNewsModelTest.offline()).getTransitions().size());
+        monitor.print();
+        DriverPool.shared().printStatistics();
+        if (!monitor.isRssMeasured()) {
+            System.out.println("Browser RSS check skipped: not measurable here, only the JVM heap is checked");
+        }
+        List<String> growth = monitor.growth(tolerance);
+        assertTrue("Memory did not stay flat: " + growth, growth.isEmpty());
+    }
+
+    @Test
+    // Run -Dabc.load.users virtual users through the model against the local fixture server, arriving at
+    // -Dabc.load.rate per second and thinking -Dabc.load.thinkMs on average between -Dabc.load.steps steps
+    public void testModelUnderLoad() {
+        Integer users = Integer.getInteger("abc.load.users");
+        assumeTrue(users != null, "Load run not requested with -Dabc.load.users");
+        LoadGenerator.requireLocal(TestConfig.homeUrl()); // Before any request, not just the load itself
+
+        // The article every user opens is the one clickArticle picks, found once without a browser
+        StaticPage home = new StaticPage();
+        home.open(TestConfig.homeUrl());
+        String articleUrl = new HomepagePageObject(home).snapshot().articleHrefs().get(7);
+
+        LoadGenerator load = new LoadGenerator(AbcNewsModelTest::offline, state -> switch ((State) state) {
+            case HOMEPAGE -> TestConfig.homeUrl();
+            case ARTICLE_PAGE -> articleUrl;
+            case SEARCH_PAGE -> TestConfig.searchUrl(SEARCH_TERM, "");
+            case FILTERED_SEARCH_PAGE -> TestConfig.searchUrl(SEARCH_TERM, SEARCH_FILTER);
+        });
+        load.run(users,
+                Double.parseDouble(System.getProperty("abc.load.rate", "50")),
+                Integer.getInteger("abc.load.steps", 10),
+                Long.getLong("abc.load.thinkMs", 500),
+                Long.getLong("abc.seed", System.currentTimeMillis()));
+
+        load.print();
+        load.export(Paths.get(System.getProperty("abc.metrics.dir", "target/metrics")));
+        assertEquals("Failed requests under load", 0, load.getErrors());
+    }
+
+    @Test
+    @ResourceLock(BROWSERS)
+    // Replay the walk given by -Dabc.trace and, if it still fails, shrink it to the shortest failing sequence
+    public void testReplayTrace() {
+        String traceFile = System.getProperty("abc.trace");
+        assumeTrue(traceFile != null, "No trace given with -Dabc.trace");
+
+        WalkTrace trace = WalkTrace.load(Paths.get(traceFile));
+        TraceReplayer replayer = new TraceReplayer(AbcNewsModelTest::offline, AbcNewsModelTest::new);
+        System.out.println("Replaying " + trace.actions().size() + " actions from seed " + trace.getSeed());
+        TestFailureException failure = replayer.replay(trace);
+        if (failure == null) {
+            System.out.println("Trace passed on replay");
+            return;
+        }
+
+        // Keep the minimal sequence next to the original so it can be replayed on its own
+        WalkTrace minimal = replayer.minimize(trace);
+        System.out.println("Minimal failing sequence after " + replayer.getBrowserRuns() + " browser runs: "
+                + minimal.actions());
+        minimal.save(traceDir().resolve("walk-" + trace.getSeed() + ".min.trace"));
+        throw failure;
+    }
+
+    // Firing is fine until armed, after which it fails unless this is the offline copy that only checks guards.
+    // Flipping never matters, it is the noise a shrunk trace should lose.
+    public static class ArmedModel implements FsmModel {
+        private final boolean failing;
+        private boolean armed;
+        private boolean flipped;
+
+        public ArmedModel(boolean failing) {
+            this.failing = failing;
+        }
+
+        public Object getState() {
+            return (armed ? "ARMED" : "SAFE") + (flipped ? "_FLIPPED" : "");
+        }
+
+        public void reset(boolean testing) {
+            armed = false;
+            flipped = false;
+        }
+
+        @Action
+        public void flip() {
+            flipped = !flipped;
+        }
+
+        public boolean armGuard() {
+            return !armed;
+        }
+
+        @Action
+        public void arm() {
+            armed = true;
+        }
+
+        @Action
+        public void fire() {
+            assertFalse("Fired while armed", failing && armed);
+        }
+    }
+
+    // Walk the armed model from a reset with a recorder attached, as testModel does, until the walk fails
+    private static WalkTrace recordArmedWalk(long seed, String... actions) {
+        Model model = new Model(new ArmedModel(true));
+        TraceRecorder recorder = new TraceRecorder(seed);
+        model.addListener(recorder);
+        model.addListener(new StopOnFailureListener());
+        model.doReset("walk");
+        try {
+            for (String action : actions) {
+                model.doAction(model.getActionNumber(action));
+            }
+        } catch (TestFailureException e) {
+            assertEquals("Failing action", "fire", e.getActionName());
+        }
+        return recorder.getTrace();
+    }
+
+    @Test
+    // A recorded walk saved and loaded again is the same walk, and replays to the same failure
+    public void testTraceRoundTrip(@TempDir Path dir) {
+        WalkTrace trace = recordArmedWalk(42, "flip", "arm", "fire");
+        assertEquals("Recorded actions", List.of(TourPlanner.RESET, "flip", "arm", "fire"), trace.actions());
+
+        Path file = dir.resolve("walk-42.trace");
+        trace.save(file);
+        WalkTrace loaded = WalkTrace.load(file);
+        assertEquals("Seed", 42, loaded.getSeed());
+        assertEquals("Steps", trace.getSteps(), loaded.getSteps());
+        assertEquals("Failed action", "fire", loaded.getFailedAction());
+        assertEquals("Failure", trace.getFailure(), loaded.getFailure());
+        assertTrue("Failure should keep its message", loaded.getFailure().contains("Fired while armed"));
+
+        TraceReplayer replayer = new TraceReplayer(() -> new ArmedModel(false), () -> new ArmedModel(true));
+        TestFailureException failure = replayer.replay(loaded);
+        assertNotNull("Replay should fail again", failure);
+        assertEquals("Replay failing action", "fire", failure.getActionName());
+        assertNull("A walk that never fires armed should pass", replayer.replay(recordArmedWalk(43, "flip", "fire")));
+    }
+
+    @Test
+    // Delta debugging drops every step the failure does not depend on, skipping sequences the guards rule out
+    public void testTraceShrinking() {
+        WalkTrace trace = recordArmedWalk(7, "flip", "fire", "flip", "arm", "flip", "flip", "fire");
+        TraceReplayer replayer = new TraceReplayer(() -> new ArmedModel(false), () -> new ArmedModel(true));
+        WalkTrace minimal = replayer.minimize(trace);
+
+        assertEquals("Minimal failing sequence", List.of("arm", "fire"), minimal.actions());
+        assertEquals("States filled in offline", List.of(new WalkTrace.Step("arm", "SAFE", "ARMED", 0)),
+                minimal.getSteps());
+        assertEquals("Seed kept", 7, minimal.getSeed());
+        assertEquals("Failure kept", trace.getFailure(), minimal.getFailure());
+        assertTrue("Candidates should have been run", replayer.getBrowserRuns() > 0);
+        assertNotNull("Minimal sequence should still fail", replayer.replay(minimal));
+    }
+
+    // Runners that start extra browsers or JVMs only run when named in -Dabc.runners (comma separated, or "all"),
+    // so a plain mvn test does not launch them
+    private static void assumeRunner(String name) {
+        List<String> requested = List.of(System.getProperty("abc.runners", "").split("\\s*,\\s*"));
+        assumeTrue(requested.contains(name) || requested.contains("all"),
+                "Runner " + name + " not requested with -Dabc.runners");
+    }
+
+    // Where walk traces are written, -Dabc.trace.dir
+    private static Path traceDir() {
+        return Paths.get(System.getProperty("abc.trace.dir", "target/traces"));
     }
 
 }